@@ -0,0 +1,99 @@
+package com.example.demo.exception;
+
+import com.example.demo.dto.ErrorResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The 404 path of {@link GlobalExceptionHandler}: throwing the exception, building the body and
+ * serializing it. The {@code legacy*} benchmarks keep the previous implementation (full-stack
+ * RuntimeException, a fresh LinkedHashMap and LocalDateTime.now().toString() per response) as the baseline.
+ * Lives in the exception package because the templates are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorResponseBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Benchmark
+    public String legacyThrow() {
+        try {
+            throw new RuntimeException("Item not found: 42");
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String stacklessThrow() {
+        try {
+            throw new ResourceNotFoundException("Item not found: 42");
+        } catch (ResourceNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyBody() {
+        return legacyBuildResponse(HttpStatus.NOT_FOUND,
+                "The item you're looking for doesn't exist.",
+                "Item not found: 42",
+                "Double-check the item ID or resource path.");
+    }
+
+    @Benchmark
+    public ErrorResponse templateBody() {
+        return GlobalExceptionHandler.NOT_FOUND.with("Item not found: 42");
+    }
+
+    @Benchmark
+    public byte[] legacyNotFound() throws JsonProcessingException {
+        String message;
+        try {
+            throw new RuntimeException("Item not found: 42");
+        } catch (RuntimeException e) {
+            message = e.getMessage();
+        }
+        return objectMapper.writeValueAsBytes(legacyBuildResponse(HttpStatus.NOT_FOUND,
+                "The item you're looking for doesn't exist.", message, "Double-check the item ID or resource path."));
+    }
+
+    @Benchmark
+    public byte[] templateNotFound() throws JsonProcessingException {
+        String message;
+        try {
+            throw new ResourceNotFoundException("Item not found: 42");
+        } catch (ResourceNotFoundException e) {
+            message = e.getMessage();
+        }
+        return objectMapper.writeValueAsBytes(GlobalExceptionHandler.NOT_FOUND.with(message));
+    }
+
+    private static Map<String, Object> legacyBuildResponse(HttpStatus status, String message, Object details, String suggestion) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "error");
+        body.put("code", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("details", details);
+        body.put("suggestion", suggestion);
+        body.put("timestamp", LocalDateTime.now().toString());
+        return body;
+    }
+}
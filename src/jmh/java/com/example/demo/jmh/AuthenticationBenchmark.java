@@ -0,0 +1,52 @@
+package com.example.demo.jmh;
+
+import com.example.demo.config.TokenService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost: verifying a bearer token versus checking an HTTP Basic password
+ * against a BCrypt hash (strength 10, the Spring default), which is what every Basic request would
+ * pay once passwords are no longer stored in plain text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthenticationBenchmark {
+
+    private TokenService tokenService;
+    private String token;
+    private BCryptPasswordEncoder bcrypt;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService("benchmark-secret-benchmark-secret!", Duration.ofMinutes(15));
+        token = tokenService.issue("superadmin", "ROLE_ADMIN");
+        bcrypt = new BCryptPasswordEncoder();
+        hash = bcrypt.encode("superpass");
+        if (tokenService.verify(token) == null || !bcrypt.matches("superpass", hash)) {
+            throw new IllegalStateException("Fixtures do not authenticate");
+        }
+    }
+
+    @Benchmark
+    public TokenService.Claims bearerToken() {
+        return tokenService.verify(token);
+    }
+
+    @Benchmark
+    public boolean basicWithBcrypt() {
+        return bcrypt.matches("superpass", hash);
+    }
+}
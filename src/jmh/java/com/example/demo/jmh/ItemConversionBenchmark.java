@@ -0,0 +1,41 @@
+package com.example.demo.jmh;
+
+import com.example.demo.dto.ItemDTO;
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+import com.example.demo.service.ItemService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItemService#convertToEntity} on a valid DTO (the success path logs nothing).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemConversionBenchmark {
+
+    private ItemService itemService;
+    private ItemDTO dto;
+
+    @Setup
+    public void setUp() {
+        itemService = new ItemService();
+        ReflectionTestUtils.setField(itemService, "logService", new LogService());
+        dto = ItemFixtures.dto();
+    }
+
+    @Benchmark
+    public Item convertToEntity() {
+        return itemService.convertToEntity(dto);
+    }
+}
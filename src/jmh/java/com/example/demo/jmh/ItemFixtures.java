@@ -0,0 +1,36 @@
+package com.example.demo.jmh;
+
+import com.example.demo.dto.ItemDTO;
+import com.example.demo.model.Item;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Sample payloads shared by the benchmarks.
+ */
+final class ItemFixtures {
+
+    private ItemFixtures() {}
+
+    static Item item() {
+        return new Item(42L, "Milk 1L", 55, 120, "Y", 12, 30, "Anand", true, "Amul",
+                LocalDateTime.of(2025, 3, 14, 9, 30, 0), LocalDate.of(2025, 9, 14));
+    }
+
+    static ItemDTO dto() {
+        ItemDTO dto = new ItemDTO();
+        dto.setItemName("Milk 1L");
+        dto.setItemCost("55");
+        dto.setItemQuantity(120);
+        dto.setItemPack("Y");
+        dto.setItemContent(12);
+        dto.setItemDimensions(30);
+        dto.setItemOriginLocation("Anand");
+        dto.setItemShip(true);
+        dto.setItemCompany("Amul");
+        dto.setItemManufacturingDateTime(LocalDateTime.of(2025, 3, 14, 9, 30, 0));
+        dto.setItemExpiryDate(LocalDate.of(2025, 9, 14));
+        return dto;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.jmh;
+
+import com.example.demo.dto.ItemDTO;
+import com.example.demo.model.Item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trips of Item (with its @JsonFormat date patterns) and ItemDTO, using an
+ * ObjectMapper configured like the application's (java.time module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemJsonBenchmark {
+
+    private ObjectWriter itemWriter;
+    private ObjectReader itemReader;
+    private ObjectWriter dtoWriter;
+    private ObjectReader dtoReader;
+    private Item item;
+    private ItemDTO dto;
+    private String itemJson;
+    private String dtoJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        itemWriter = objectMapper.writerFor(Item.class);
+        itemReader = objectMapper.readerFor(Item.class);
+        dtoWriter = objectMapper.writerFor(ItemDTO.class);
+        dtoReader = objectMapper.readerFor(ItemDTO.class);
+        item = ItemFixtures.item();
+        dto = ItemFixtures.dto();
+        itemJson = itemWriter.writeValueAsString(item);
+        dtoJson = dtoWriter.writeValueAsString(dto);
+    }
+
+    @Benchmark
+    public String serializeItem() throws Exception {
+        return itemWriter.writeValueAsString(item);
+    }
+
+    @Benchmark
+    public Item deserializeItem() throws Exception {
+        return itemReader.readValue(itemJson);
+    }
+
+    @Benchmark
+    public String serializeItemDto() throws Exception {
+        return dtoWriter.writeValueAsString(dto);
+    }
+
+    @Benchmark
+    public ItemDTO deserializeItemDto() throws Exception {
+        return dtoReader.readValue(dtoJson);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.jmh;
+
+import com.example.demo.model.Item;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of Item: a valid item, and one that only breaks the
+ * {@code isItemContentValid} rule (itemPack Y without itemContent).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private Item valid;
+    private Item missingContent;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valid = ItemFixtures.item();
+        missingContent = ItemFixtures.item();
+        missingContent.setItemContent(null);
+        if (!validator.validate(valid).isEmpty() || validator.validate(missingContent).size() != 1) {
+            throw new IllegalStateException("Fixtures do not exercise the expected constraints");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Item>> validItem() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Item>> contentRuleViolated() {
+        return validator.validate(missingContent);
+    }
+}
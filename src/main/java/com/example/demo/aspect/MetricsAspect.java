@@ -0,0 +1,65 @@
+package com.example.demo.aspect;
+
+import com.example.demo.metrics.LatencyRecorder;
+import com.example.demo.metrics.MethodMetrics;
+import com.example.demo.metrics.QueryCounter;
+import com.example.demo.metrics.QueryMetrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Records call count, error count, latency and JDBC work (statements, rows, time) of every service method.
+ * Set {@code aspect.trace.enabled=true} to also log each call (never logs return values).
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsAspect.class);
+
+    @Autowired
+    private MethodMetrics methodMetrics;
+
+    @Autowired
+    private QueryMetrics queryMetrics;
+
+    @Value("${aspect.trace.enabled:false}")
+    private boolean traceEnabled;
+
+    @Around("execution(* com.example.demo.service.*.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        LatencyRecorder recorder = methodMetrics.recorder(method);
+        QueryCounter.Snapshot queriesBefore = QueryCounter.isInstalled() ? QueryCounter.current() : null;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } catch (Throwable ex) {
+            if (traceEnabled) {
+                logger.info("❌ [AOP] Exception in: {} → {}", joinPoint.getSignature().getName(), ex.getMessage());
+            }
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            recorder.record(elapsed, failed);
+            if (queriesBefore != null) {
+                queryMetrics.recordMethod(method, QueryCounter.current().since(queriesBefore));
+            }
+            if (traceEnabled) {
+                logger.info("🔍 [AOP] {} took {} µs", joinPoint.getSignature().toShortString(), elapsed / 1_000);
+            }
+        }
+    }
+}
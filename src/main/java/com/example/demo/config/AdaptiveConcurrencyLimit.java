@@ -0,0 +1,74 @@
+package com.example.demo.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows database latency (AIMD): every request whose average statement
+ * latency stays under the target adds 1/limit (about +1 per limit completions), a slower one
+ * multiplies the limit by the backoff factor, at most once per decrease interval so one slow burst
+ * doesn't collapse it. Requests over the limit are rejected immediately instead of queueing.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder decreases = new LongAdder();
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoff;
+    private final long targetLatencyNanos;
+    private final long decreaseIntervalNanos;
+
+    private volatile double limit;
+    private long lastDecrease;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoff,
+                                    long targetLatencyNanos, long decreaseIntervalNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoff = backoff;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.decreaseIntervalNanos = decreaseIntervalNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecrease = System.nanoTime() - decreaseIntervalNanos;
+    }
+
+    /**
+     * @return true if the caller may proceed; it must then call {@link #release} exactly once
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param statements JDBC statements the request issued
+     * @param jdbcNanos time spent in them
+     */
+    public void release(long statements, long jdbcNanos) {
+        inFlight.decrementAndGet();
+        if (statements == 0) {
+            return;
+        }
+        long latency = jdbcNanos / statements;
+        synchronized (this) {
+            if (latency <= targetLatencyNanos) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            } else {
+                long now = System.nanoTime();
+                if (now - lastDecrease >= decreaseIntervalNanos) {
+                    limit = Math.max(minLimit, limit * backoff);
+                    lastDecrease = now;
+                    decreases.increment();
+                }
+            }
+        }
+    }
+
+    public int getLimit() { return (int) limit; }
+    public int getInFlight() { return inFlight.get(); }
+    public long getDecreases() { return decreases.sum(); }
+}
@@ -0,0 +1,201 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission decisions for /items: a token bucket per user and one per role (rates configured per
+ * role under admission.user.* and admission.role.*), then the adaptive global concurrency limit.
+ *
+ * Buckets use GCRA: the whole bucket is one {@link AtomicLong} (the theoretical arrival time of the
+ * next request), updated with a single CAS, so there is no lock anywhere on the admit path.
+ */
+@Component
+public class AdmissionControl {
+
+    public static final String[] ROLES = {"ADMIN", "USER"};
+
+    /**
+     * Outcome of {@link #tryAcquire}; on rejection, the HTTP status and how long to wait.
+     */
+    public record Decision(boolean admitted, int status, long retryAfterSeconds, String reason) {
+        static final Decision ADMITTED = new Decision(true, 200, 0, null);
+    }
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${admission.idle-bucket-expiry:10m}")
+    private Duration idleBucketExpiry;
+
+    private final Map<String, Rate> userRates = new ConcurrentHashMap<>();
+    private final Map<String, Rate> roleRates = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> roleBuckets = new ConcurrentHashMap<>();
+    private Cache<String, AtomicLong> userBuckets;
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedByUser = new LongAdder();
+    private final LongAdder rejectedByRole = new LongAdder();
+    private final LongAdder rejectedByConcurrency = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        for (String role : ROLES) {
+            userRates.put(role, rate("admission.user." + role));
+            roleRates.put(role, rate("admission.role." + role));
+            roleBuckets.put(role, new AtomicLong());
+        }
+        // ✅ Idle users drop out, so the bucket map stays bounded by the active user count
+        userBuckets = Caffeine.newBuilder().expireAfterAccess(idleBucketExpiry).build();
+        concurrencyLimit = new AdaptiveConcurrencyLimit(
+                environment.getProperty("admission.concurrency.initial-limit", Integer.class, 20),
+                environment.getProperty("admission.concurrency.min-limit", Integer.class, 4),
+                environment.getProperty("admission.concurrency.max-limit", Integer.class, 200),
+                environment.getProperty("admission.concurrency.backoff", Double.class, 0.9),
+                environment.getProperty("admission.concurrency.db-latency-target", Duration.class, Duration.ofMillis(50)).toNanos(),
+                environment.getProperty("admission.concurrency.decrease-interval", Duration.class, Duration.ofSeconds(1)).toNanos());
+    }
+
+    private Rate rate(String prefix) {
+        return new Rate(environment.getProperty(prefix + ".rate", Double.class, 0.0),
+                environment.getProperty(prefix + ".burst", Integer.class, 1));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admit or reject one request. An admitted request must be passed to {@link #release}.
+     * @param user authenticated username
+     * @param role ADMIN or USER (unknown roles get the USER limits)
+     */
+    public Decision tryAcquire(String user, String role) {
+        String limitsRole = userRates.containsKey(role) ? role : "USER";
+        long now = System.nanoTime();
+
+        Rate userRate = userRates.get(limitsRole);
+        AtomicLong userBucket = userBuckets.get(user, u -> new AtomicLong());
+        long wait = userRate.tryTake(userBucket, now);
+        if (wait > 0) {
+            rejectedByUser.increment();
+            return new Decision(false, 429, retryAfterSeconds(wait), "user rate limit");
+        }
+
+        Rate roleRate = roleRates.get(limitsRole);
+        wait = roleRate.tryTake(roleBuckets.get(limitsRole), now);
+        if (wait > 0) {
+            userRate.refund(userBucket);
+            rejectedByRole.increment();
+            return new Decision(false, 429, retryAfterSeconds(wait), "role rate limit");
+        }
+
+        if (!concurrencyLimit.tryAcquire()) {
+            userRate.refund(userBucket);
+            roleRate.refund(roleBuckets.get(limitsRole));
+            rejectedByConcurrency.increment();
+            return new Decision(false, 503, 1, "server busy");
+        }
+        admitted.increment();
+        return Decision.ADMITTED;
+    }
+
+    /**
+     * Give back the concurrency slot of an admitted request and feed its database latency to the limit.
+     */
+    public void release(long statements, long jdbcNanos) {
+        concurrencyLimit.release(statements, jdbcNanos);
+    }
+
+    /**
+     * Limits, current state and rejection counters, for GET /admin/admission.
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", enabled);
+        body.put("concurrencyLimit", concurrencyLimit.getLimit());
+        body.put("inFlight", concurrencyLimit.getInFlight());
+        body.put("limitDecreases", concurrencyLimit.getDecreases());
+        body.put("activeUsers", userBuckets.estimatedSize());
+        body.put("admitted", admitted.sum());
+        body.put("rejectedByUser", rejectedByUser.sum());
+        body.put("rejectedByRole", rejectedByRole.sum());
+        body.put("rejectedByConcurrency", rejectedByConcurrency.sum());
+        Map<String, Object> limits = new LinkedHashMap<>();
+        for (String role : ROLES) {
+            limits.put(role, Map.of("user", userRates.get(role).describe(), "role", roleRates.get(role).describe()));
+        }
+        body.put("limits", limits);
+        return body;
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    /**
+     * Requests per second and burst size; a rate of 0 or less means unlimited.
+     */
+    private static final class Rate {
+        private final double perSecond;
+        private final int burst;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+
+        Rate(double perSecond, int burst) {
+            this.perSecond = perSecond;
+            this.burst = Math.max(burst, 1);
+            this.intervalNanos = perSecond > 0 ? (long) (1_000_000_000L / perSecond) : 0;
+            this.toleranceNanos = intervalNanos * (this.burst - 1);
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise nanoseconds until one is available
+         */
+        long tryTake(AtomicLong bucket, long now) {
+            if (intervalNanos == 0) {
+                return 0;
+            }
+            while (true) {
+                long arrival = bucket.get();
+                // ✅ Fresh (0) or long idle buckets start from now, i.e. with a full burst
+                long base = arrival == 0 || arrival - now < 0 ? now : arrival;
+                long wait = base - now - toleranceNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (bucket.compareAndSet(arrival, base + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        void refund(AtomicLong bucket) {
+            if (intervalNanos != 0) {
+                bucket.addAndGet(-intervalNanos);
+            }
+        }
+
+        Map<String, Object> describe() {
+            return perSecond > 0 ? Map.of("ratePerSecond", perSecond, "burst", burst) : Map.of("ratePerSecond", "unlimited");
+        }
+    }
+}
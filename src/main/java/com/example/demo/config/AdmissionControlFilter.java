@@ -0,0 +1,95 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.ErrorResponse;
+import com.example.demo.logging.RateLimitedLog;
+import com.example.demo.metrics.QueryCounter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs inside the security chain after authorization, in front of /items: rejects with 429 when the
+ * user's or role's token bucket is empty and 503 when the adaptive concurrency limit is reached,
+ * both with Retry-After, instead of letting the request queue for a pooled connection.
+ * Created by SecurityConfig (not a bean, so it is not also registered as a servlet filter).
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final ErrorResponse.Template TOO_MANY_REQUESTS = new ErrorResponse.Template(HttpStatus.TOO_MANY_REQUESTS,
+            "Too many requests.",
+            "Slow down and retry after the number of seconds in the Retry-After header.");
+    private static final ErrorResponse.Template SERVICE_UNAVAILABLE = new ErrorResponse.Template(HttpStatus.SERVICE_UNAVAILABLE,
+            "The server is busy.",
+            "Retry after the number of seconds in the Retry-After header.");
+    // ✅ Same matching as the /items/** rule in SecurityConfig: path within the application, whole segments only
+    private static final RequestMatcher ITEMS = PathPatternRequestMatcher.withDefaults().matcher("/items/**");
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+    private final RateLimitedLog log;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl, ObjectMapper objectMapper, RateLimitedLog log) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+        this.log = log;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionControl.isEnabled() || !ITEMS.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String user = auth.getName();
+        AdmissionControl.Decision decision = admissionControl.tryAcquire(user, role(auth));
+        if (!decision.admitted()) {
+            log.warn("admission", "🚦 Rejected request from {}: {}", user, decision.reason());
+            reject(response, decision);
+            return;
+        }
+        QueryCounter.Snapshot start = QueryCounter.current();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCounter.Snapshot work = QueryCounter.current().since(start);
+            admissionControl.release(work.statements(), work.jdbcNanos());
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdmissionControl.Decision decision) throws IOException {
+        ErrorResponse.Template template = decision.status() == 429 ? TOO_MANY_REQUESTS : SERVICE_UNAVAILABLE;
+        response.setStatus(decision.status());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), template.with(decision.reason()));
+    }
+
+    // ✅ Same role model as SecurityConfig: ROLE_ADMIN / ROLE_USER authorities
+    private static String role(Authentication auth) {
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) {
+                return "ADMIN";
+            }
+        }
+        return "USER";
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.config;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Per-request async timeout for handlers that return a StreamingResponseBody (which always runs with
+ * the global spring.mvc.async.request-timeout): the handler calls {@link #set}, and this interceptor
+ * applies it just before the async request is started. Registered in {@link WebConfig}.
+ */
+public class AsyncRequestTimeout implements CallableProcessingInterceptor {
+
+    private static final String ATTRIBUTE = AsyncRequestTimeout.class.getName();
+
+    /**
+     * Override the async timeout of this request only.
+     * @param timeout how long the async part may run; zero or negative means no timeout
+     */
+    public static void set(HttpServletRequest request, Duration timeout) {
+        request.setAttribute(ATTRIBUTE, timeout.toMillis());
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout != null && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout((Long) timeout);
+        }
+    }
+}
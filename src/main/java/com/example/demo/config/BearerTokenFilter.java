@@ -0,0 +1,76 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.ErrorResponse;
+import com.example.demo.logging.RateLimitedLog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates {@code Authorization: Bearer <token>} requests from the token alone (see {@link TokenService}),
+ * ahead of HTTP Basic. Requests without a bearer token pass through untouched; an invalid one gets 401.
+ * Created by SecurityConfig (not a bean, so it is not also registered as a servlet filter).
+ */
+public class BearerTokenFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "Bearer ";
+    private static final ErrorResponse.Template INVALID_TOKEN = new ErrorResponse.Template(HttpStatus.UNAUTHORIZED,
+            "Your access token is invalid or has expired.",
+            "Request a new token from POST /auth/token.");
+
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+    private final RateLimitedLog log;
+    // ✅ As BasicAuthenticationFilter does: the error dispatch of a 403 reloads the authentication from here
+    private final SecurityContextRepository contextRepository = new RequestAttributeSecurityContextRepository();
+
+    public BearerTokenFilter(TokenService tokenService, ObjectMapper objectMapper, RateLimitedLog log) {
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+        this.log = log;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        TokenService.Claims claims = tokenService.verify(header.substring(PREFIX.length()).trim());
+        if (claims == null) {
+            log.warn("invalid-token", "🔒 Rejected bearer token for {} {}", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), INVALID_TOKEN.with(null));
+            return;
+        }
+        // ✅ Same authority model as the Basic path (ROLE_ADMIN / ROLE_USER), so authorization rules are unchanged
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(claims.username(), null,
+                List.of(new SimpleGrantedAuthority(claims.role()))));
+        SecurityContextHolder.setContext(context);
+        contextRepository.saveContext(context, request, response);
+        chain.doFilter(request, response);
+    }
+}
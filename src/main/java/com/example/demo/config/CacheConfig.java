@@ -0,0 +1,60 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Item;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // ✅ Authenticated principals, keyed by username (see SecurityConfig.userDetailsService)
+    public static final String PRINCIPALS = "principals";
+
+    // ✅ Items by id, read-through from ItemService.getItemById (W-TinyLFU admission/eviction)
+    public static final String ITEMS = "items";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${security.principal-cache.ttl:60s}") Duration principalTtl,
+            @Value("${security.principal-cache.max-size:10000}") long principalMaxSize,
+            @Value("${item.cache.max-entries:10000}") long itemMaxEntries,
+            @Value("${item.cache.max-bytes:0}") long itemMaxBytes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PRINCIPALS, Caffeine.newBuilder()
+                .maximumSize(principalMaxSize)
+                .expireAfterWrite(principalTtl)
+                .recordStats()
+                .build());
+
+        // Bound by estimated bytes when item.cache.max-bytes is set, otherwise by entry count (0 disables caching)
+        Caffeine<Object, Object> items = Caffeine.newBuilder().recordStats();
+        if (itemMaxBytes > 0) {
+            items.maximumWeight(itemMaxBytes).weigher((key, value) -> value instanceof Item item ? estimateBytes(item) : 64);
+        } else {
+            items.maximumSize(itemMaxEntries);
+        }
+        cacheManager.registerCustomCache(ITEMS, items.build());
+        return cacheManager;
+    }
+
+    /**
+     * Rough heap footprint of a cached item: object headers and boxed fields plus string contents.
+     */
+    static int estimateBytes(Item item) {
+        return 320 + 2 * (length(item.getItemName()) + length(item.getItemOriginLocation()) + length(item.getItemCompany()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
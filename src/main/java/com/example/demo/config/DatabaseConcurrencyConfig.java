@@ -0,0 +1,52 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Wraps the datasource in a {@link ConcurrencyLimitedDataSource} when db.concurrency-limit.enabled
+ * is set (by default together with spring.threads.virtual.enabled).
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.concurrency-limit.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                // ✅ 0 = one permit per pooled connection, so callers wait here instead of inside Hikari
+                int limit = environment.getProperty("db.concurrency-limit.max", Integer.class, 0);
+                if (limit <= 0) {
+                    limit = poolSize(dataSource);
+                }
+                Duration timeout = environment.getProperty("db.concurrency-limit.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+                return new ConcurrencyLimitedDataSource(dataSource, limit, timeout);
+            }
+        };
+    }
+
+    // ✅ Unwrap rather than instanceof: the pool may sit behind the query-counting proxy
+    private static int poolSize(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                    : 10;
+        } catch (SQLException e) {
+            return 10;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.config;
+
+import com.example.demo.metrics.QueryCounter;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the datasource in a datasource-proxy {@link ProxyDataSource} that feeds {@link QueryCounter}
+ * (disable with query.metrics.enabled=false).
+ */
+@Configuration
+@ConditionalOnProperty(name = "query.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+    // ⚠️ Declared with its concrete type: Spring reads Ordered from the factory method's return type
+    @Bean
+    public static QueryCountingPostProcessor queryCountingDataSourcePostProcessor(Environment environment) {
+        return new QueryCountingPostProcessor(environment);
+    }
+
+    /**
+     * Runs before the other datasource wrappers, so the proxy sits right on top of the pool
+     * and the concurrency limit (when enabled) stays outermost.
+     */
+    public static final class QueryCountingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        QueryCountingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+            Duration slowQuery = environment.getProperty("query.detection.slow-query", Duration.class, Duration.ofMillis(200));
+            QueryCounter counter = new QueryCounter(slowQuery.toNanos());
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(counter)
+                    .methodListener(counter)
+                    .proxyResultSet()
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
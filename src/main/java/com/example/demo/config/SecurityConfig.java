@@ -1,17 +1,27 @@
 package com.example.demo.config;
 
+import com.example.demo.logging.RateLimitedLog;
+import com.example.demo.metrics.RequestTiming;
 import com.example.demo.model.AppUser;
 import com.example.demo.repository.AppUserRepository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,6 +29,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 @Configuration
@@ -27,47 +38,96 @@ public class SecurityConfig {
     @Autowired
     private AppUserRepository appUserRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RateLimitedLog rateLimitedLog;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${auth.basic.enabled:true}")
+    private boolean basicEnabled;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf().disable()
 
-            // ✅ MDC filter with null check to avoid crash
-            .addFilterBefore((request, response, chain) -> {
+            // 🔑 Bearer tokens from POST /auth/token: verified by HMAC alone, no user lookup or password check
+            .addFilterBefore(new BearerTokenFilter(tokenService, objectMapper, rateLimitedLog), BasicAuthenticationFilter.class)
+
+            // ✅ Runs once the request is authenticated and authorized: ends the auth timing phase and
+            // tags the logs with the user (RequestTimingFilter removes it again)
+            .addFilterAfter((request, response, chain) -> {
+                RequestTiming.markAuthenticated();
                 var auth = SecurityContextHolder.getContext().getAuthentication();
-                if (auth != null && auth.isAuthenticated()) {
+                if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
                     MDC.put("user", auth.getName());
                 }
                 chain.doFilter(request, response);
-                MDC.clear();
-            }, UsernamePasswordAuthenticationFilter.class)
+            }, AuthorizationFilter.class)
+
+            // 🚦 Per-user/per-role rate limits and the adaptive concurrency limit for /items
+            .addFilterAfter(new AdmissionControlFilter(admissionControl, objectMapper, rateLimitedLog), AuthorizationFilter.class)
 
             // ✅ Role-based access control
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.POST, "/users").permitAll()     // ✅ Allow POST /users
+                .requestMatchers(HttpMethod.POST, "/auth/token").permitAll() // ✅ Credentials are checked by the endpoint
                 .requestMatchers("/items/**").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers("/users/**").hasRole("ADMIN")             // ✅ Protect GET/DELETE /users/{id}
                 .anyRequest().authenticated()
-            )
+            );
 
-            .httpBasic();
+        // ✅ auth.basic.enabled=false leaves bearer tokens as the only way in (POST /auth/token still takes a password)
+        if (basicEnabled) {
+            http.httpBasic();
+        } else {
+            http.exceptionHandling(e -> e.authenticationEntryPoint((request, response, ex) -> {
+                response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+                response.sendError(HttpStatus.UNAUTHORIZED.value());
+            }));
+        }
 
         return http.build();
     }
 
     @Bean
     public UserDetailsService userDetailsService() {
+        Cache principals = cacheManager.getCache(CacheConfig.PRINCIPALS);
         return username -> {
-            AppUser user = appUserRepository.findByUsername(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            // ✅ Cached lookup; AppUserService evicts on save/delete. Misses are not cached, so users
+            // written straight to the repository (e.g. the superadmin seed) are picked up immediately.
+            CachedPrincipal user = principals.get(username, CachedPrincipal.class);
+            if (user == null) {
+                user = appUserRepository.findByUsername(username)
+                        .map(CachedPrincipal::of)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+                principals.put(username, user);
+            }
 
-            return User.withUsername(user.getUsername())
-                    .password(user.getPassword())
-                    .roles(user.getRole().replace("ROLE_", "")) // e.g. ROLE_ADMIN → ADMIN
+            // ⚠️ Build a fresh User every time: Spring Security erases the password of the returned instance
+            return User.withUsername(user.username())
+                    .password(user.password())
+                    .roles(user.role().replace("ROLE_", "")) // e.g. ROLE_ADMIN → ADMIN
                     .build();
         };
     }
 
+    private record CachedPrincipal(String username, String password, String role) {
+        static CachedPrincipal of(AppUser user) {
+            return new CachedPrincipal(user.getUsername(), user.getPassword(), user.getRole());
+        }
+    }
+
     @Bean
     public static NoOpPasswordEncoder passwordEncoder() {
         return (NoOpPasswordEncoder) NoOpPasswordEncoder.getInstance();
@@ -0,0 +1,160 @@
+package com.example.demo.config;
+
+import com.example.demo.logging.LogService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Short-lived bearer tokens: {@code base64url(username \n role \n issuedAt \n expiresAt) . base64url(HMAC-SHA256)}.
+ *
+ * Credentials are checked once, when the token is issued; afterwards a request is authenticated by
+ * one HMAC over the payload and a map lookup, with no database access and no password hashing.
+ * Revocation is a per-user epoch: tokens issued at or before a user's last {@link #revokeAll} are
+ * rejected. Epochs are kept for one token lifetime (older tokens have expired anyway) and only in
+ * this JVM, like the principal cache.
+ */
+@Component
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    /**
+     * What a valid token says about its holder.
+     */
+    public record Claims(String username, String role, long issuedAtMillis, long expiresAtMillis) {
+    }
+
+    @Autowired
+    private LogService logService;
+
+    private final SecretKeySpec key;
+    private final boolean generatedKey;
+    private final Duration ttl;
+    // ✅ Mac is stateful and not thread-safe; one instance per thread avoids both locking and re-initialising the key
+    private final ThreadLocal<Mac> macs;
+    private final Cache<String, Long> revokedBefore;
+
+    public TokenService(@Value("${auth.token.secret:}") String secret, @Value("${auth.token.ttl:15m}") Duration ttl) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            keyBytes = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("auth.token.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.generatedKey = secret.isBlank();
+        this.ttl = ttl;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.revokedBefore = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+    }
+
+    @PostConstruct
+    void init() {
+        if (generatedKey) {
+            logService.warn("⚠️ auth.token.secret is not set; using a random key, so tokens die with this instance");
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Sign a token for a user whose credentials were just verified.
+     * @param username the user
+     * @param role its authority, e.g. ROLE_ADMIN
+     * @return the bearer token
+     */
+    public String issue(String username, String role) {
+        // 🔒 Fields are newline-separated: a control character would let one field forge the ones after it
+        requireNoControlCharacters("username", username);
+        requireNoControlCharacters("role", role);
+        long now = System.currentTimeMillis();
+        String payload = username + '\n' + role + '\n' + now + '\n' + (now + ttl.toMillis());
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encoded + '.' + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(encoded));
+    }
+
+    /**
+     * Check a token's signature, expiry and revocation.
+     * @param token the bearer token
+     * @return its claims, or null if the token is malformed, forged, expired or revoked
+     */
+    public Claims verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        String encoded = token.substring(0, dot);
+        try {
+            // ✅ Signature first (constant-time compare), so nothing unauthenticated gets parsed
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(encoded))) {
+                return null;
+            }
+            String payload = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            // ✅ issue() never signs a field with a newline, so a valid payload has exactly four
+            String[] fields = payload.split("\n", -1);
+            if (fields.length != 4 || fields[0].isEmpty()) {
+                return null;
+            }
+            Claims claims = new Claims(fields[0], fields[1], Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+            if (claims.expiresAtMillis() <= System.currentTimeMillis()) {
+                return null;
+            }
+            Long revoked = revokedBefore.getIfPresent(claims.username());
+            return revoked != null && claims.issuedAtMillis() <= revoked ? null : claims;
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or number
+            return null;
+        }
+    }
+
+    /**
+     * Invalidate every token issued to a user so far, e.g. when the user is deleted or changed.
+     */
+    public void revokeAll(String username) {
+        revokedBefore.put(username, System.currentTimeMillis());
+    }
+
+    private static void requireNoControlCharacters(String field, String value) {
+        if (value == null || value.isEmpty() || value.chars().anyMatch(Character::isISOControl)) {
+            throw new IllegalArgumentException("Cannot issue a token: " + field + " is empty or contains control characters");
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        return macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.config;
+
+import com.example.demo.metrics.RequestTiming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // ✅ Lets a handler (e.g. GET /items/export) lift the async timeout for its own request only
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncRequestTimeout());
+    }
+
+    /**
+     * Replaces Boot's JSON converter with one that times serialization for the Server-Timing header.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJsonConverter(objectMapper);
+    }
+
+    /**
+     * Serializes into a buffer first, so the body is only opened (and the headers, Server-Timing
+     * included, committed) once serialization time is known. Also gives every JSON response a
+     * Content-Length instead of chunked encoding.
+     */
+    static final class TimedJsonConverter extends MappingJackson2HttpMessageConverter {
+
+        TimedJsonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            RequestTiming timing = RequestTiming.current();
+            if (timing == null) {
+                super.writeInternal(object, type, outputMessage);
+                return;
+            }
+            timing.serializationStarted();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return buffer;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            timing.serializationFinished();
+            outputMessage.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.AdmissionControl;
+import com.example.demo.config.ConcurrencyLimitedDataSource;
+import com.example.demo.dto.ExpirySweepResult;
+import com.example.demo.metrics.MethodMetrics;
+import com.example.demo.metrics.QueryMetrics;
+import com.example.demo.service.ItemChangeFeed;
+import com.example.demo.service.ItemExpirySweeper;
+import com.example.demo.service.ItemWriteCoalescer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MethodMetrics methodMetrics;
+
+    @Autowired
+    private QueryMetrics queryMetrics;
+
+    @Autowired
+    private ItemExpirySweeper itemExpirySweeper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private ItemWriteCoalescer itemWriteCoalescer;
+
+    @Autowired
+    private ItemChangeFeed itemChangeFeed;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Hit, miss and eviction counters of every cache.
+     * @return cache name → statistics
+     */
+    @GetMapping("/caches")
+    public Map<String, Map<String, Object>> getCacheStats() {
+        Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("size", cache.getNativeCache().estimatedSize());
+                body.put("hits", stats.hitCount());
+                body.put("misses", stats.missCount());
+                body.put("hitRatio", stats.hitRate());
+                body.put("evictions", stats.evictionCount());
+                caches.put(name, body);
+            }
+        }
+        return caches;
+    }
+
+    /**
+     * Call count, error count and latency percentiles of every service method.
+     * @return method name → statistics
+     */
+    @GetMapping("/metrics/methods")
+    public Map<String, Map<String, Object>> getMethodMetrics() {
+        return methodMetrics.snapshot();
+    }
+
+    /**
+     * Reset the service method statistics.
+     */
+    @DeleteMapping("/metrics/methods")
+    public ResponseEntity<Void> resetMethodMetrics() {
+        methodMetrics.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Statements, rows and JDBC time per request pattern and per service method, plus recently flagged requests.
+     */
+    @GetMapping("/metrics/queries")
+    public Map<String, Object> getQueryMetrics() {
+        return queryMetrics.snapshot();
+    }
+
+    /**
+     * Reset the query statistics.
+     */
+    @DeleteMapping("/metrics/queries")
+    public ResponseEntity<Void> resetQueryMetrics() {
+        queryMetrics.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Expiry sweeper totals, last run and settings.
+     */
+    @GetMapping("/expiry-sweeper")
+    public Map<String, Object> getExpirySweeperStatus() {
+        return itemExpirySweeper.status();
+    }
+
+    /**
+     * Run the expiry sweeper now.
+     * @param dryRun only count the expired rows (defaults to item.expiry.sweep.dry-run)
+     * @return the outcome, or 409 if a sweep is already running
+     */
+    @PostMapping("/expiry-sweeper/run")
+    public ResponseEntity<ExpirySweepResult> runExpirySweeper(@RequestParam(required = false) Boolean dryRun) {
+        ExpirySweepResult result = dryRun == null ? itemExpirySweeper.sweepNow() : itemExpirySweeper.sweep(dryRun);
+        return result == null ? ResponseEntity.status(HttpStatus.CONFLICT).build() : ResponseEntity.ok(result);
+    }
+
+    /**
+     * Connection pool usage and, when enabled, the database concurrency limit.
+     */
+    @GetMapping("/db")
+    public Map<String, Object> getDatabaseStats() throws SQLException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("threads", virtualThreads && Runtime.version().feature() >= 21 ? "virtual" : "platform");
+        if (dataSource instanceof ConcurrencyLimitedDataSource limited) {
+            body.put("maxConcurrency", limited.getMaxConcurrency());
+            body.put("availablePermits", limited.getAvailablePermits());
+            body.put("waiting", limited.getWaiting());
+        }
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            if (pool != null) {
+                body.put("activeConnections", pool.getActiveConnections());
+                body.put("idleConnections", pool.getIdleConnections());
+                body.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Admission control: rate limits per role, the current adaptive concurrency limit and rejection counters.
+     */
+    @GetMapping("/admission")
+    public Map<String, Object> getAdmissionStatus() {
+        return admissionControl.status();
+    }
+
+    /**
+     * Group commit of single-item creates: batches written and mean batch size.
+     */
+    @GetMapping("/create-coalescer")
+    public Map<String, Object> getCreateCoalescerStatus() {
+        return itemWriteCoalescer.status();
+    }
+
+    /**
+     * Change feed: buffered sequence range, subscribers and slow-consumer counters.
+     */
+    @GetMapping("/change-feed")
+    public Map<String, Object> getChangeFeedStatus() {
+        return itemChangeFeed.status();
+    }
+}
@@ -22,11 +22,17 @@ public class AppUserController {
 
     @PostMapping
     public ResponseEntity<AppUser> createUser(@RequestBody AppUser user, Principal principal) {
+        // ✅ Normalize first, so "ADMIN" cannot slip past the ROLE_ADMIN checks below
+        user.setRole(AppUserService.normalizeRole(user.getRole()));
+
         // ✅ Allow anonymous user to create a non-admin account
         if (principal == null) {
             if (user.getRole().equals("ROLE_ADMIN")) {
                 throw new RuntimeException("❌ Only superadmin can create admin accounts");
             }
+            if (user.getId() != null) {
+                throw new SecurityException("❌ Sign in to change an existing account");
+            }
         } else {
             AppUser creator = appUserRepository.findByUsername(principal.getName())
                 .orElseThrow(() -> new RuntimeException("Creator not found"));
@@ -36,10 +42,6 @@ public class AppUserController {
             }
         }
 
-        if (!user.getRole().startsWith("ROLE_")) {
-            user.setRole("ROLE_" + user.getRole());
-        }
-
         return ResponseEntity.ok(appUserService.saveUser(user));
     }
 
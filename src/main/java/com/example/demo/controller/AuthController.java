@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.TokenService;
+import com.example.demo.dto.TokenRequest;
+import com.example.demo.dto.TokenResponse;
+import com.example.demo.model.AppUser;
+import com.example.demo.service.AppUserService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/auth")
+public class AuthController {
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    /**
+     * Trade a username and password for a short-lived bearer token.
+     * @param request the credentials
+     * @return the token, or 401 if the credentials are wrong
+     */
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> issueToken(@RequestBody TokenRequest request) {
+        AppUser user = appUserService.authenticate(request.getUsername(), request.getPassword());
+        String token = tokenService.issue(user.getUsername(), user.getRole());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new TokenResponse(token, tokenService.getTtl().toSeconds()));
+    }
+}
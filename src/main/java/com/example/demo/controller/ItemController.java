@@ -1,20 +1,47 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.AsyncRequestTimeout;
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.dto.ItemAnalyticsFilter;
+import com.example.demo.dto.ItemAnalyticsResult;
+import com.example.demo.dto.ItemCollectionVersion;
 import com.example.demo.dto.ItemDTO;
+import com.example.demo.dto.ItemPage;
+import com.example.demo.dto.ItemSearchCriteria;
+import com.example.demo.dto.ItemStats;
+import com.example.demo.dto.QuantityAdjustment;
+import com.example.demo.dto.QuantityAdjustmentResult;
 import com.example.demo.model.Item;
+import com.example.demo.service.ItemBatchService;
+import com.example.demo.service.ItemChangeFeed;
+import com.example.demo.service.ItemColumnStore;
+import com.example.demo.service.ItemExportService;
+import com.example.demo.service.ItemInventoryService;
 import com.example.demo.service.ItemService;
+import com.example.demo.service.ItemStatsService;
+import com.example.demo.service.ItemWriteCoalescer;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity; // ✅ Missing import added
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 
 
@@ -25,6 +52,30 @@ public class ItemController {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ItemBatchService itemBatchService;
+
+    @Autowired
+    private ItemExportService itemExportService;
+
+    @Autowired
+    private ItemStatsService itemStatsService;
+
+    @Autowired
+    private ItemColumnStore itemColumnStore;
+
+    @Autowired
+    private ItemWriteCoalescer itemWriteCoalescer;
+
+    @Autowired
+    private ItemInventoryService itemInventoryService;
+
+    @Autowired
+    private ItemChangeFeed itemChangeFeed;
+
+    @Value("${item.export.timeout:PT30M}")
+    private Duration exportTimeout;
+
     /**
      * Create a new item.
      * @param item the item to be created
@@ -34,38 +85,225 @@ public class ItemController {
     public ResponseEntity<Item> createItem(@Valid @RequestBody ItemDTO itemDTO) {
         logger.info("Received POST request to create item: {}", itemDTO.getItemName());
         Item item = itemService.convertToEntity(itemDTO);
-        Item savedItem = itemService.saveItem(item);
+        // ✅ Group commit with other concurrent creates when item.create.coalesce.enabled is set
+        Item savedItem = itemWriteCoalescer.isEnabled() ? itemWriteCoalescer.create(item) : itemService.saveItem(item);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedItem);
     }
+
+    /**
+     * Create many items in one call, written in chunked JDBC batches.
+     * @param itemDTOs the items to be created
+     * @return per-row results with HTTP 201 if every row was created, 207 otherwise
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createItems(@RequestBody List<ItemDTO> itemDTOs) {
+        logger.info("Received POST request to create {} items in batch", itemDTOs.size());
+        List<BatchItemResult> results = itemBatchService.saveAll(itemDTOs);
+        boolean allCreated = results.stream().allMatch(BatchItemResult::isCreated);
+        return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(results);
+    }
+
     /**
      * Update an existing item by ID.
      * @param id the ID of the item to update
      * @param item the updated item data
+     * @param ifMatch optional ETag of the version being replaced; 412 if the item has changed since
      * @return the updated item with HTTP 201 status
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Item> updateItem(@PathVariable Long id, @Valid @RequestBody Item item) {
-        Item updatedItem = itemService.updateItem(id, item);
-        return ResponseEntity.status(HttpStatus.CREATED).body(updatedItem); // 201
+    public ResponseEntity<Item> updateItem(@PathVariable Long id, @Valid @RequestBody Item item,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Item updatedItem = itemService.updateItem(id, item, ItemETags.parseIfMatch(ifMatch));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ItemETags.of(updatedItem)).body(updatedItem); // 201
+    }
+
+    /**
+     * Partially update an item: only the fields present in the body are written, in one UPDATE.
+     * @param id the ID of the item to patch
+     * @param changes the fields to change
+     * @param ifMatch optional ETag of the version being patched; 412 if the item has changed since
+     * @return the updated item
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Item> patchItem(@PathVariable Long id, @RequestBody Map<String, Object> changes,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Item patchedItem = itemService.patchItem(id, changes, ItemETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ItemETags.of(patchedItem)).body(patchedItem);
+    }
+
+    /**
+     * Add stock to an item in one conditional UPDATE.
+     * @param id the ID of the item
+     * @param amount units to add
+     * @return the updated item
+     */
+    @PostMapping("/{id}/increment")
+    public ResponseEntity<Item> incrementQuantity(@PathVariable Long id, @RequestParam int amount) {
+        Item item = itemInventoryService.increment(id, amount);
+        return ResponseEntity.ok().eTag(ItemETags.of(item)).body(item);
+    }
+
+    /**
+     * Remove stock from an item in one conditional UPDATE.
+     * @param id the ID of the item
+     * @param amount units to remove
+     * @return the updated item, or 409 if fewer than amount units are in stock
+     */
+    @PostMapping("/{id}/decrement")
+    public ResponseEntity<Item> decrementQuantity(@PathVariable Long id, @RequestParam int amount) {
+        Item item = itemInventoryService.decrement(id, amount);
+        return ResponseEntity.ok().eTag(ItemETags.of(item)).body(item);
     }
 
     /**
-     * Get all items.
-     * @return list of all items
+     * Add stock to many items in one transaction; rows succeed or fail independently.
+     * @param adjustments item IDs and amounts
+     * @return per-row results with HTTP 200 if every row was applied, 207 otherwise
+     */
+    @PostMapping("/increment")
+    public ResponseEntity<List<QuantityAdjustmentResult>> incrementQuantities(@RequestBody List<QuantityAdjustment> adjustments) {
+        return adjusted(itemInventoryService.increment(adjustments), HttpStatus.MULTI_STATUS);
+    }
+
+    /**
+     * Remove stock from many items in one transaction; rows succeed or fail independently.
+     * @param adjustments item IDs and amounts
+     * @return per-row results with HTTP 200 if every row was applied, 207 otherwise
+     */
+    @PostMapping("/decrement")
+    public ResponseEntity<List<QuantityAdjustmentResult>> decrementQuantities(@RequestBody List<QuantityAdjustment> adjustments) {
+        return adjusted(itemInventoryService.decrement(adjustments), HttpStatus.MULTI_STATUS);
+    }
+
+    /**
+     * Reserve stock on many items all-or-nothing.
+     * @param adjustments item IDs and amounts
+     * @return per-row results with HTTP 200 if everything was reserved, 409 (and no change) otherwise
+     */
+    @PostMapping("/reserve")
+    public ResponseEntity<List<QuantityAdjustmentResult>> reserveQuantities(@RequestBody List<QuantityAdjustment> adjustments) {
+        return adjusted(itemInventoryService.reserve(adjustments), HttpStatus.CONFLICT);
+    }
+
+    private static ResponseEntity<List<QuantityAdjustmentResult>> adjusted(List<QuantityAdjustmentResult> results,
+                                                                           HttpStatus partial) {
+        boolean allApplied = results.stream().allMatch(QuantityAdjustmentResult::isApplied);
+        return ResponseEntity.status(allApplied ? HttpStatus.OK : partial).body(results);
+    }
+
+    /**
+     * Get items one keyset page at a time.
+     * @param limit page size
+     * @param after nextCursor of the previous page
+     * @param sort indexed property to sort by: id, itemExpiryDate or itemCompany
+     * @param direction asc or desc
+     * @return the page with the cursor of the next one, or 304 if nothing in the table changed
      */
     @GetMapping
-    public List<Item> getAllItems() {
-        return itemService.getAllItems();
+    public ItemPage getAllItems(@RequestParam(required = false) Integer limit,
+                                @RequestParam(required = false) String after,
+                                @RequestParam(defaultValue = "id") String sort,
+                                @RequestParam(defaultValue = "asc") String direction,
+                                WebRequest request) {
+        // ✅ Collection-level validator from count/max(id)/max(lastModified), no page read on a hit
+        ItemCollectionVersion version = itemService.getCollectionVersion();
+        long lastModified = version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+        if (request.checkNotModified(version.etag(), lastModified)) {
+            return null;
+        }
+        return itemService.getItemsPage(limit, after, sort, direction);
+    }
+
+    /**
+     * Inventory statistics computed in the database (or the in-memory aggregate when enabled).
+     * @param groupBy company or origin
+     * @param expiringWithinDays expiring-soon window in days from today (default item.stats.expiring-within-days)
+     * @return per-group item count, quantity, inventory value (cost × quantity) and expiring-soon totals
+     */
+    @GetMapping("/stats")
+    public ItemStats getItemStats(@RequestParam(defaultValue = "company") String groupBy,
+                                  @RequestParam(required = false) Integer expiringWithinDays) {
+        return itemStatsService.getStats(groupBy, expiringWithinDays);
+    }
+
+    /**
+     * Ad-hoc count/sum/filter over the in-memory column store (requires item.analytics.enabled).
+     * @param filter minCost/maxCost, minQuantity/maxQuantity, minDimensions/maxDimensions,
+     *               expiresFrom/expiresTo (yyyy-MM-dd), ship, company, origin
+     * @param limit maximum number of matching ids to return
+     * @return count, total quantity and inventory value of the matching items plus their first ids
+     */
+    @GetMapping("/analytics")
+    public ItemAnalyticsResult getItemAnalytics(ItemAnalyticsFilter filter,
+                                                @RequestParam(defaultValue = "100") int limit) {
+        return itemColumnStore.query(filter, Math.min(limit, 10_000));
+    }
+
+    /**
+     * Search items; every filter is optional and they are combined with AND.
+     * @param criteria company, origin, ship, minCost/maxCost, expiresFrom/expiresTo (yyyy-MM-dd)
+     * @param limit page size
+     * @param after nextCursor of the previous page
+     * @param sort indexed property to sort by: id, itemExpiryDate or itemCompany
+     * @param direction asc or desc
+     * @return the matching page with the cursor of the next one
+     */
+    @GetMapping("/search")
+    public ItemPage searchItems(ItemSearchCriteria criteria,
+                                @RequestParam(required = false) Integer limit,
+                                @RequestParam(required = false) String after,
+                                @RequestParam(defaultValue = "id") String sort,
+                                @RequestParam(defaultValue = "asc") String direction) {
+        return itemService.searchItems(criteria, limit, after, sort, direction);
+    }
+
+    /**
+     * Stream the whole item table as NDJSON or CSV.
+     * @param format ndjson (default) or csv
+     * @return the rows, written as they are read from the database
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestParam(defaultValue = "ndjson") String format,
+                                                             HttpServletRequest request) {
+        itemExportService.checkFormat(format);
+        // ✅ A full export outlives the default async timeout; only this request gets the longer one
+        AsyncRequestTimeout.set(request, exportTimeout);
+        String contentType = ItemExportService.CSV.equals(format) ? "text/csv" : "application/x-ndjson";
+        StreamingResponseBody body = out -> itemExportService.export(format, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=items." + format)
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(body);
+    }
+
+    /**
+     * Stream item changes as server-sent events (created, updated, deleted, and reset when the
+     * client must reload), instead of polling GET /items.
+     * @param since sequence number to resume after; defaults to the Last-Event-ID header, then to now
+     */
+    @GetMapping("/changes")
+    public void streamChanges(@RequestParam(required = false) Long since,
+                              @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        itemChangeFeed.subscribe(request, response, since != null ? since : lastEventId);
     }
 
     /**
      * Get a single item by ID.
      * @param id the ID of the item
-     * @return the item if found
+     * @return the item if found, or 304 if the client's If-None-Match/If-Modified-Since is current
      */
     @GetMapping("/{id}")
-    public Item getItemById(@PathVariable Long id) {
-        return itemService.getItemById(id);
+    public ResponseEntity<Item> getItemById(@PathVariable Long id, WebRequest request) {
+        Item item = itemService.getItemById(id);
+        if (item == null) {
+            return ResponseEntity.ok().build();
+        }
+        // ✅ Sets ETag/Last-Modified; on a match the response is a bodiless 304
+        if (request.checkNotModified(ItemETags.of(item), ItemETags.lastModified(item))) {
+            return null;
+        }
+        return ResponseEntity.ok(item);
     }
 
     /**
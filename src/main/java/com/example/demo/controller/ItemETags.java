@@ -0,0 +1,38 @@
+package com.example.demo.controller;
+
+import com.example.demo.exception.PreconditionFailedException;
+import com.example.demo.model.Item;
+
+/**
+ * Strong ETags for items, derived from the {@code @Version} column.
+ */
+final class ItemETags {
+
+    private ItemETags() {}
+
+    static String of(Item item) {
+        return "\"" + item.getVersion() + "\"";
+    }
+
+    static long lastModified(Item item) {
+        return item.getLastModified() == null ? -1 : item.getLastModified().toEpochMilli();
+    }
+
+    /**
+     * Version named by an If-Match header, or null when there is no header or it is {@code *}.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match requires a strong ETag");
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match " + ifMatch + " does not match any item version");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ImportJob;
+import com.example.demo.service.ItemImportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/items/import")
+public class ItemImportController {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    /**
+     * Start an import from a multipart file upload.
+     * @param file the CSV (with header row) or NDJSON file
+     * @param format csv or ndjson; derived from the file name when omitted
+     * @return the queued job with HTTP 202 status
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJob> importFile(@RequestParam("file") MultipartFile file,
+                                                @RequestParam(required = false) String format) throws IOException {
+        String resolved = format != null ? format : formatOf(file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(itemImportService.submit(in, resolved));
+        }
+    }
+
+    /**
+     * Start an import from a raw request body (text/csv or application/x-ndjson).
+     * @param format csv or ndjson; derived from the Content-Type when omitted
+     * @return the queued job with HTTP 202 status
+     */
+    @PostMapping
+    public ResponseEntity<ImportJob> importBody(HttpServletRequest request,
+                                                @RequestParam(required = false) String format) throws IOException {
+        String resolved = format != null ? format : formatOf(null, request.getContentType());
+        try (InputStream in = request.getInputStream()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(itemImportService.submit(in, resolved));
+        }
+    }
+
+    /**
+     * Get the progress of an import job.
+     */
+    @GetMapping("/{jobId}")
+    public ImportJob getJob(@PathVariable String jobId) {
+        return itemImportService.getJob(jobId);
+    }
+
+    /**
+     * Download the rejected rows of an import job as NDJSON.
+     */
+    @GetMapping(value = "/{jobId}/errors", produces = "application/x-ndjson")
+    public ResponseEntity<Resource> getErrors(@PathVariable String jobId) {
+        ImportJob job = itemImportService.getJob(jobId);
+        return ResponseEntity.ok(new FileSystemResource(job.getErrorReport()));
+    }
+
+    private static String formatOf(String filename, String contentType) {
+        String hint = ((filename != null ? filename : "") + " " + (contentType != null ? contentType : "")).toLowerCase();
+        if (hint.contains("csv")) {
+            return ItemImportService.CSV;
+        }
+        if (hint.contains("ndjson") || hint.contains("jsonl") || hint.contains("json")) {
+            return ItemImportService.NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot determine import format, pass ?format=csv or ?format=ndjson");
+    }
+}
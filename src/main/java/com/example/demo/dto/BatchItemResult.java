@@ -0,0 +1,51 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Map;
+
+/**
+ * Per-row outcome of a bulk item load.
+ */
+public class BatchItemResult {
+
+    public static final String CREATED = "created";
+    public static final String ERROR = "error";
+
+    private int index;
+    private String status;
+    private Long id;
+    private Map<String, String> errors;
+
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, String status, Long id, Map<String, String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, CREATED, id, null);
+    }
+
+    public static BatchItemResult error(int index, Map<String, String> errors) {
+        return new BatchItemResult(index, ERROR, null, errors);
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Map<String, String> getErrors() { return errors; }
+    public void setErrors(Map<String, String> errors) { this.errors = errors; }
+
+    @JsonIgnore
+    public boolean isCreated() { return CREATED.equals(status); }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.dto;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Body of every error response. Same JSON shape as the map it replaces:
+ * {@code status, code, error, message, details, suggestion, timestamp}.
+ */
+public record ErrorResponse(String status, int code, String error, String message, Object details,
+                           String suggestion, String timestamp) {
+
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.");
+    private static volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, "");
+
+    /**
+     * The static part of one kind of error (status, message, suggestion), built once per handler.
+     */
+    public record Template(HttpStatus httpStatus, int code, String error, String message, String suggestion) {
+
+        public Template(HttpStatus httpStatus, String message, String suggestion) {
+            this(httpStatus, httpStatus.value(), httpStatus.getReasonPhrase(), message, suggestion);
+        }
+
+        public ErrorResponse with(Object details) {
+            return with(details, suggestion);
+        }
+
+        public ErrorResponse with(Object details, String suggestion) {
+            return new ErrorResponse("error", code, error, message, details, suggestion, now());
+        }
+    }
+
+    /**
+     * Local date-time with exactly three fractional digits, e.g. {@code 2025-01-31T14:05:09.042}; the
+     * date and time up to the second are formatted once per second and shared. Still ISO-8601, but no
+     * longer LocalDateTime.toString(), which printed up to nine digits and dropped zero seconds.
+     */
+    public static String now() {
+        long millis = System.currentTimeMillis();
+        long second = Math.floorDiv(millis, 1000);
+        CachedSecond cached = cachedSecond;
+        if (cached.second != second) {
+            String prefix = SECONDS.format(LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault()));
+            cached = new CachedSecond(second, prefix);
+            cachedSecond = cached;
+        }
+        int fraction = (int) Math.floorMod(millis, 1000);
+        return cached.prefix + (fraction < 10 ? "00" : fraction < 100 ? "0" : "") + fraction;
+    }
+
+    private record CachedSecond(long second, String prefix) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Outcome of one expiry sweep run.
+ */
+public class ExpirySweepResult {
+    private final String mode;
+    private final boolean dryRun;
+    private final LocalDate cutoff;
+    private final Instant startedAt;
+    private long rows;
+    private int chunks;
+    private long elapsedMillis;
+    private boolean complete;
+
+    public ExpirySweepResult(String mode, boolean dryRun, LocalDate cutoff) {
+        this.mode = mode;
+        this.dryRun = dryRun;
+        this.cutoff = cutoff;
+        this.startedAt = Instant.now();
+    }
+
+    public void addChunk(int chunkRows) {
+        rows += chunkRows;
+        chunks++;
+    }
+
+    public void finish(boolean complete) {
+        this.complete = complete;
+        this.elapsedMillis = Duration.between(startedAt, Instant.now()).toMillis();
+    }
+
+    public String getMode() { return mode; }
+    public boolean isDryRun() { return dryRun; }
+    // ✅ Items that expired before this date were (or in a dry run, would be) swept
+    public LocalDate getCutoff() { return cutoff; }
+    public Instant getStartedAt() { return startedAt; }
+    public long getRows() { return rows; }
+    public int getChunks() { return chunks; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    // ✅ False when the run stopped at item.expiry.sweep.max-chunks-per-run with rows left
+    public boolean isComplete() { return complete; }
+}
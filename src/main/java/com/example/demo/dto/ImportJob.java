@@ -0,0 +1,65 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a streaming item import. Counters are updated by the import
+ * worker while clients poll, so they are atomics.
+ */
+public class ImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String format;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final Path source;
+    private final Path errorReport;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+
+    public ImportJob(String id, String format, Path source, Path errorReport) {
+        this.id = id;
+        this.format = format;
+        this.source = source;
+        this.errorReport = errorReport;
+    }
+
+    public String getId() { return id; }
+    public String getFormat() { return format; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public Status getStatus() { return status; }
+    public String getMessage() { return message; }
+
+    public long getRowsRead() { return rowsRead.get(); }
+    public long getRowsImported() { return rowsImported.get(); }
+    public long getRowsRejected() { return rowsRejected.get(); }
+
+    @JsonIgnore
+    public Path getSource() { return source; }
+
+    @JsonIgnore
+    public Path getErrorReport() { return errorReport; }
+
+    public void markRunning() { this.status = Status.RUNNING; }
+
+    public void markFinished(Status status, String message) {
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+
+    public void addRead(long n) { rowsRead.addAndGet(n); }
+    public void addImported(long n) { rowsImported.addAndGet(n); }
+    public void addRejected(long n) { rowsRejected.addAndGet(n); }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for GET /items/analytics; null fields are ignored and ranges are inclusive.
+ */
+public class ItemAnalyticsFilter {
+    private Integer minCost;
+    private Integer maxCost;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+    private Integer minDimensions;
+    private Integer maxDimensions;
+    private Boolean ship;
+    private String company;
+    private String origin;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresTo;
+
+    public Integer getMinCost() { return minCost; }
+    public void setMinCost(Integer minCost) { this.minCost = minCost; }
+
+    public Integer getMaxCost() { return maxCost; }
+    public void setMaxCost(Integer maxCost) { this.maxCost = maxCost; }
+
+    public Integer getMinQuantity() { return minQuantity; }
+    public void setMinQuantity(Integer minQuantity) { this.minQuantity = minQuantity; }
+
+    public Integer getMaxQuantity() { return maxQuantity; }
+    public void setMaxQuantity(Integer maxQuantity) { this.maxQuantity = maxQuantity; }
+
+    public Integer getMinDimensions() { return minDimensions; }
+    public void setMinDimensions(Integer minDimensions) { this.minDimensions = minDimensions; }
+
+    public Integer getMaxDimensions() { return maxDimensions; }
+    public void setMaxDimensions(Integer maxDimensions) { this.maxDimensions = maxDimensions; }
+
+    public Boolean getShip() { return ship; }
+    public void setShip(Boolean ship) { this.ship = ship; }
+
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = company; }
+
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+
+    public LocalDate getExpiresFrom() { return expiresFrom; }
+    public void setExpiresFrom(LocalDate expiresFrom) { this.expiresFrom = expiresFrom; }
+
+    public LocalDate getExpiresTo() { return expiresTo; }
+    public void setExpiresTo(LocalDate expiresTo) { this.expiresTo = expiresTo; }
+}
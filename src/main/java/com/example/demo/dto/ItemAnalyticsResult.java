@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+/**
+ * Answer of an analytics scan.
+ * @param rowsScanned live rows in the snapshot
+ * @param count matching rows
+ * @param inventoryValue sum of itemCost * itemQuantity over the matching rows
+ * @param ids ids of the first matching rows (at most the requested limit), in snapshot order
+ */
+public record ItemAnalyticsResult(long rowsScanned, long count, long totalQuantity, long inventoryValue,
+                                  long[] ids, long elapsedMicros) {
+}
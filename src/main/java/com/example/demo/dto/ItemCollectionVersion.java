@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import java.time.Instant;
+
+/**
+ * Summary of the item table that changes whenever any row is inserted, updated or deleted.
+ */
+public record ItemCollectionVersion(long count, Long maxId, Instant lastModified) {
+
+    /**
+     * Strong ETag value (without quotes).
+     */
+    public String etag() {
+        return count + "-" + (maxId == null ? 0 : maxId) + "-" + (lastModified == null ? 0 : lastModified.toEpochMilli());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Inventory figures for one company or origin location.
+ * {@code inventoryValue} is the sum of itemCost * itemQuantity; the expiring-soon figures
+ * cover items whose expiry date falls inside the requested window.
+ */
+public record ItemGroupStats(String key, long itemCount, long totalQuantity, long inventoryValue,
+                             long expiringSoonCount, long expiringSoonValue) {
+
+    /**
+     * Add up several groups under a new key.
+     */
+    public static ItemGroupStats sum(String key, List<ItemGroupStats> groups) {
+        long count = 0, quantity = 0, value = 0, expiringCount = 0, expiringValue = 0;
+        for (ItemGroupStats group : groups) {
+            count += group.itemCount;
+            quantity += group.totalQuantity;
+            value += group.inventoryValue;
+            expiringCount += group.expiringSoonCount;
+            expiringValue += group.expiringSoonValue;
+        }
+        return new ItemGroupStats(key, count, quantity, value, expiringCount, expiringValue);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Item;
+
+import java.util.List;
+
+/**
+ * One keyset page of items. Pass {@code nextCursor} as {@code after} to get the next page;
+ * it is null on the last page.
+ */
+public class ItemPage {
+
+    private final List<Item> items;
+    private final String nextCursor;
+    private final int limit;
+
+    public ItemPage(List<Item> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    public List<Item> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public int getLimit() { return limit; }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for GET /items/search; null fields are ignored.
+ */
+public class ItemSearchCriteria {
+    private String company;
+    private String origin;
+    private Boolean ship;
+    private Integer minCost;
+    private Integer maxCost;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresTo;
+
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = company; }
+
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+
+    public Boolean getShip() { return ship; }
+    public void setShip(Boolean ship) { this.ship = ship; }
+
+    public Integer getMinCost() { return minCost; }
+    public void setMinCost(Integer minCost) { this.minCost = minCost; }
+
+    public Integer getMaxCost() { return maxCost; }
+    public void setMaxCost(Integer maxCost) { this.maxCost = maxCost; }
+
+    public LocalDate getExpiresFrom() { return expiresFrom; }
+    public void setExpiresFrom(LocalDate expiresFrom) { this.expiresFrom = expiresFrom; }
+
+    public LocalDate getExpiresTo() { return expiresTo; }
+    public void setExpiresTo(LocalDate expiresTo) { this.expiresTo = expiresTo; }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response of GET /items/stats.
+ * @param groupBy company or origin
+ * @param expiringFrom first day of the expiring-soon window (today)
+ * @param expiringTo last day of the expiring-soon window
+ * @param source database (GROUP BY queries) or memory (incrementally maintained aggregate)
+ */
+public record ItemStats(String groupBy, LocalDate expiringFrom, LocalDate expiringTo, String source,
+                        ItemGroupStats total, List<ItemGroupStats> groups) {
+}
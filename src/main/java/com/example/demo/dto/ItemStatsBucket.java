@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Item count, quantity and value for one (company, origin, expiry date) combination;
+ * used to load the in-memory stats aggregate without reading any Item rows into Java.
+ */
+public record ItemStatsBucket(String company, String origin, LocalDate expiryDate,
+                              long itemCount, long totalQuantity, long inventoryValue) {
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+/**
+ * One row of a bulk stock change: add, remove or reserve {@code amount} units of item {@code id}.
+ */
+public class QuantityAdjustment {
+    private Long id;
+    private Integer amount;
+
+    public QuantityAdjustment() {}
+
+    public QuantityAdjustment(Long id, Integer amount) {
+        this.id = id;
+        this.amount = amount;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getAmount() { return amount; }
+    public void setAmount(Integer amount) { this.amount = amount; }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Per-row outcome of a bulk stock change.
+ */
+public class QuantityAdjustmentResult {
+
+    public static final String APPLIED = "applied";
+    public static final String INSUFFICIENT_STOCK = "insufficient-stock";
+    public static final String LIMIT_EXCEEDED = "limit-exceeded";
+    public static final String NOT_FOUND = "not-found";
+    public static final String ABORTED = "aborted";
+
+    private int index;
+    private Long id;
+    private String status;
+    private Integer quantity;
+
+    public QuantityAdjustmentResult() {}
+
+    public QuantityAdjustmentResult(int index, Long id, String status, Integer quantity) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.quantity = quantity;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    /**
+     * Stock after the whole request for applied rows, the current stock for rejected ones, otherwise null.
+     */
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    @JsonIgnore
+    public boolean isApplied() { return APPLIED.equals(status); }
+}
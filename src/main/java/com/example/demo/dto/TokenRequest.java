@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+/**
+ * Credentials for POST /auth/token.
+ */
+public class TokenRequest {
+    private String username;
+    private String password;
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.dto;
+
+/**
+ * A bearer token and how many seconds it stays valid.
+ */
+public class TokenResponse {
+    private String accessToken;
+    private String tokenType = "Bearer";
+    private long expiresIn;
+
+    public TokenResponse() {}
+
+    public TokenResponse(String accessToken, long expiresIn) {
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+    }
+
+    public String getAccessToken() { return accessToken; }
+    public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
+
+    public String getTokenType() { return tokenType; }
+    public void setTokenType(String tokenType) { this.tokenType = tokenType; }
+
+    public long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
+}
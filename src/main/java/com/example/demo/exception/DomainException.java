@@ -0,0 +1,13 @@
+package com.example.demo.exception;
+
+/**
+ * Base class of the expected, client-caused errors (404, 412, ...). They are control flow, not bugs:
+ * no stack trace is captured and no suppressed list is kept, so throwing one costs about as much as
+ * allocating it. Anything that needs a trace for debugging should not extend this.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.demo.exception;
 
-import com.example.demo.logging.LogService;
+import com.example.demo.dto.ErrorResponse;
+import com.example.demo.logging.RateLimitedLog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -9,96 +11,126 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
-import java.time.LocalDateTime;
 import java.util.*;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // ✅ Static parts of every error body, built once (package-private for the JMH benchmarks in src/jmh/java)
+    static final ErrorResponse.Template VALIDATION = new ErrorResponse.Template(HttpStatus.BAD_REQUEST,
+            "Some fields are invalid. Please correct and try again.",
+            "Ensure all required fields are filled with valid values.");
+    static final ErrorResponse.Template NOT_FOUND = new ErrorResponse.Template(HttpStatus.NOT_FOUND,
+            "The item you're looking for doesn't exist.",
+            "Double-check the item ID or resource path.");
+    static final ErrorResponse.Template PRECONDITION_FAILED = new ErrorResponse.Template(HttpStatus.PRECONDITION_FAILED,
+            "The item was modified by someone else.",
+            "Fetch the item again and retry with its current ETag.");
+    static final ErrorResponse.Template CONFLICT = new ErrorResponse.Template(HttpStatus.CONFLICT,
+            "The item was modified concurrently.",
+            "Fetch the item again and retry your update.");
+    static final ErrorResponse.Template INSUFFICIENT_STOCK = new ErrorResponse.Template(HttpStatus.CONFLICT,
+            "There is not enough stock for this change.",
+            "Fetch the item for its current quantity and retry with a smaller amount.");
+    static final ErrorResponse.Template INVALID_INPUT = new ErrorResponse.Template(HttpStatus.BAD_REQUEST,
+            "Invalid input provided.",
+            "Review your request payload and ensure all values are correct.");
+    static final ErrorResponse.Template UNAUTHORIZED = new ErrorResponse.Template(HttpStatus.UNAUTHORIZED,
+            "The username or password is incorrect.",
+            "Check your credentials and try again.");
+    static final ErrorResponse.Template FORBIDDEN = new ErrorResponse.Template(HttpStatus.FORBIDDEN,
+            "You are not authorized to perform this action.",
+            "Check your permissions or login credentials.");
+    static final ErrorResponse.Template METHOD_NOT_ALLOWED = new ErrorResponse.Template(HttpStatus.METHOD_NOT_ALLOWED,
+            "The HTTP method used is not supported for this endpoint.",
+            null);
+    static final ErrorResponse.Template NO_HANDLER = new ErrorResponse.Template(HttpStatus.NOT_FOUND,
+            "The endpoint you requested does not exist.",
+            "Please verify the URL and HTTP method.");
+    static final ErrorResponse.Template SERVICE_UNAVAILABLE = new ErrorResponse.Template(HttpStatus.SERVICE_UNAVAILABLE,
+            "This service is not available right now.",
+            "Retry later.");
+    static final ErrorResponse.Template RUNTIME = new ErrorResponse.Template(HttpStatus.INTERNAL_SERVER_ERROR,
+            "Something went wrong. Please try again later.",
+            "If the issue persists, contact support.");
+    static final ErrorResponse.Template UNHANDLED = new ErrorResponse.Template(HttpStatus.INTERNAL_SERVER_ERROR,
+            "An unexpected error occurred.",
+            "Please contact support or check your request.");
+
     @Autowired
-    private LogService logService;
-
-    
-    // ✅ This is the helper method you're calling
-    private Map<String, Object> buildResponse(HttpStatus status, String message, Object details, String suggestion) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("status", "error");
-        body.put("code", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
-        body.put("details", details);
-        body.put("suggestion", suggestion);
-        body.put("timestamp", LocalDateTime.now().toString());
-        return body;
+    private RateLimitedLog log;
+
+    static ResponseEntity<ErrorResponse> respond(ErrorResponse.Template template, Object details) {
+        return ResponseEntity.status(template.code()).body(template.with(details));
     }
 
     // ✅ This is your validation error handler
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> fieldErrors = new LinkedHashMap<>();
         for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
             fieldErrors.put(fieldError.getField(), fieldError.getDefaultMessage());
         }
 
-        logService.warn("⚠️ Validation failed: " + fieldErrors);
-
-        return ResponseEntity.badRequest().body(buildResponse(
-            HttpStatus.BAD_REQUEST,
-            "Some fields are invalid. Please correct and try again.",
-            fieldErrors,
-            "Ensure all required fields are filled with valid values."
-        ));
+        log.warn("validation", "⚠️ Validation failed: {}", fieldErrors);
+        return respond(VALIDATION, fieldErrors);
     }
 
+    // ✅ Resource not found
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex) {
+        log.warn("not-found", "❌ Resource not found: {}", ex.getMessage());
+        return respond(NOT_FOUND, ex.getMessage());
+    }
 
+    // ✅ If-Match did not match the current version
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex) {
+        log.warn("precondition-failed", "⚠️ Precondition failed: {}", ex.getMessage());
+        return respond(PRECONDITION_FAILED, ex.getMessage());
+    }
 
+    // ✅ Concurrent update detected by the @Version check
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        log.warn("conflict", "⚠️ Concurrent modification: {}", ex.getMessage());
+        return respond(CONFLICT, ex.getMessage());
+    }
 
-
-
-
-    // ✅ Resource not found
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleResourceNotFound(ResourceNotFoundException ex) {
-        logService.error("❌ Resource not found: " + ex.getMessage());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(buildResponse(
-            HttpStatus.NOT_FOUND,
-            "The item you're looking for doesn't exist.",
-            ex.getMessage(),
-            "Double-check the item ID or resource path."
-        ));
+    // ✅ A decrement would take the stock below zero
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStock(InsufficientStockException ex) {
+        log.warn("insufficient-stock", "⚠️ Insufficient stock: {}", ex.getMessage());
+        return respond(INSUFFICIENT_STOCK, ex.getMessage());
     }
 
     // ✅ Invalid input
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
-        logService.warn("⚠️ Invalid input: " + ex.getMessage());
-        return ResponseEntity.badRequest().body(buildResponse(
-            HttpStatus.BAD_REQUEST,
-            "Invalid input provided.",
-            ex.getMessage(),
-            "Review your request payload and ensure all values are correct."
-        ));
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        log.warn("invalid-input", "⚠️ Invalid input: {}", ex.getMessage());
+        return respond(INVALID_INPUT, ex.getMessage());
+    }
+
+    // ✅ Wrong credentials at POST /auth/token
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCredentials(InvalidCredentialsException ex) {
+        log.warn("invalid-credentials", "🔒 Login failed: {}", ex.getMessage());
+        // ⚠️ Details stay generic: the response must not reveal whether the username exists
+        return respond(UNAUTHORIZED, null);
     }
 
     // ✅ Unauthorized access
     @ExceptionHandler(SecurityException.class)
-    public ResponseEntity<Map<String, Object>> handleSecurity(SecurityException ex) {
-        logService.error("🔒 Security violation: " + ex.getMessage());
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(buildResponse(
-            HttpStatus.FORBIDDEN,
-            "You are not authorized to perform this action.",
-            ex.getMessage(),
-            "Check your permissions or login credentials."
-        ));
+    public ResponseEntity<ErrorResponse> handleSecurity(SecurityException ex) {
+        log.error("security", "🔒 Security violation: {}", ex.getMessage());
+        return respond(FORBIDDEN, ex.getMessage());
     }
 
     // ✅ Incorrect HTTP method
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
-    public ResponseEntity<Map<String, Object>> handleMethodNotSupported(HttpRequestMethodNotSupportedException ex) {
-        logService.warn("⚠️ Method not allowed: " + ex.getMessage());
-        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(buildResponse(
-            HttpStatus.METHOD_NOT_ALLOWED,
-            "The HTTP method used is not supported for this endpoint.",
+    public ResponseEntity<ErrorResponse> handleMethodNotSupported(HttpRequestMethodNotSupportedException ex) {
+        log.warn("method-not-allowed", "⚠️ Method not allowed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(METHOD_NOT_ALLOWED.with(
             "Method '" + ex.getMethod() + "' is not allowed here.",
             "Try changing the method to one of: " + Arrays.toString(ex.getSupportedMethods())
         ));
@@ -106,39 +138,32 @@ public class GlobalExceptionHandler {
 
     // ✅ Invalid endpoint
     @ExceptionHandler(NoHandlerFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleNoHandlerFound(NoHandlerFoundException ex) {
-        logService.warn("⚠️ Invalid endpoint: " + ex.getRequestURL());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(buildResponse(
-            HttpStatus.NOT_FOUND,
-            "The endpoint you requested does not exist.",
-            "No handler found for " + ex.getHttpMethod() + " " + ex.getRequestURL(),
-            "Please verify the URL and HTTP method."
-        ));
+    public ResponseEntity<ErrorResponse> handleNoHandlerFound(NoHandlerFoundException ex) {
+        log.warn("no-handler", "⚠️ Invalid endpoint: {}", ex.getRequestURL());
+        return respond(NO_HANDLER, "No handler found for " + ex.getHttpMethod() + " " + ex.getRequestURL());
+    }
+
+    // ✅ Feature switched off or at capacity (e.g. change feed subscribers)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+        log.warn("service-unavailable", "⚠️ Service unavailable: {}", ex.getMessage());
+        // ⚠️ A preset content type skips Accept negotiation: SSE clients only accept text/event-stream
+        return ResponseEntity.status(SERVICE_UNAVAILABLE.code())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(SERVICE_UNAVAILABLE.with(ex.getMessage()));
     }
 
     // ✅ Generic runtime exceptions
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<Map<String, Object>> handleRuntime(RuntimeException ex) {
-        logService.error("❌ Unexpected error: " + ex.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(buildResponse(
-            HttpStatus.INTERNAL_SERVER_ERROR,
-            "Something went wrong. Please try again later.",
-            ex.getMessage(),
-            "If the issue persists, contact support."
-        ));
+    public ResponseEntity<ErrorResponse> handleRuntime(RuntimeException ex) {
+        log.error("❌ Unexpected error: {}", ex);
+        return respond(RUNTIME, ex.getMessage());
     }
 
     // ✅ Catch-all fallback
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
-        logService.error("❌ Unhandled exception: " + ex.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(buildResponse(
-            HttpStatus.INTERNAL_SERVER_ERROR,
-            "An unexpected error occurred.",
-            ex.getMessage(),
-            "Please contact support or check your request."
-        ));
+    public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
+        log.error("❌ Unhandled exception: {}", ex);
+        return respond(UNHANDLED, ex.getMessage());
     }
-    
- 
-}
\ No newline at end of file
+}
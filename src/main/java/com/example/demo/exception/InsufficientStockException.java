@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class InsufficientStockException extends DomainException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class InvalidCredentialsException extends DomainException {
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
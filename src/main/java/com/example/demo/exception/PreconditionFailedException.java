@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class PreconditionFailedException extends DomainException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.demo.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends DomainException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+/**
+ * Application log facade. Prefer the parameterized overloads ({@code "Saved {}"}, arg):
+ * the message is only formatted if the level is enabled, and the one- and two-argument
+ * forms do not allocate a varargs array.
+ */
 @Service
 public class LogService {
     private final Logger logger = LoggerFactory.getLogger(LogService.class);
@@ -12,11 +17,47 @@ public class LogService {
         logger.info(message);
     }
 
+    public void info(String format, Object arg) {
+        logger.info(format, arg);
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        logger.info(format, arg1, arg2);
+    }
+
+    public void info(String format, Object... args) {
+        logger.info(format, args);
+    }
+
     public void warn(String message) {
         logger.warn(message);
     }
 
+    public void warn(String format, Object arg) {
+        logger.warn(format, arg);
+    }
+
+    public void warn(String format, Object arg1, Object arg2) {
+        logger.warn(format, arg1, arg2);
+    }
+
+    public void warn(String format, Object... args) {
+        logger.warn(format, args);
+    }
+
     public void error(String message) {
         logger.error(message);
     }
-}
\ No newline at end of file
+
+    public void error(String format, Object arg) {
+        logger.error(format, arg);
+    }
+
+    public void error(String format, Object arg1, Object arg2) {
+        logger.error(format, arg1, arg2);
+    }
+
+    public void error(String format, Object... args) {
+        logger.error(format, args);
+    }
+}
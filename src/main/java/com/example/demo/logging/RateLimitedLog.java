@@ -0,0 +1,103 @@
+package com.example.demo.logging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Error log throttle: at most {@code logging.error-limit.burst} lines per key and window. The rest
+ * are counted, and the next line that gets through reports how many were suppressed, so a 404 storm
+ * costs a counter increment per request instead of a formatted log line.
+ *
+ * Unexpected exceptions are throttled per exception class and message rather than per handler, so
+ * one noisy failure cannot hide an unrelated one, and they are logged with their stack trace.
+ */
+@Service
+public class RateLimitedLog {
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${logging.error-limit.burst:5}")
+    private int burst;
+
+    @Value("${logging.error-limit.window:10s}")
+    private Duration window;
+
+    // ✅ Bounded: exception messages can carry IDs, and dropping an idle key only resets its throttle
+    private final Cache<String, Window> windows = Caffeine.newBuilder().maximumSize(1024).build();
+
+    public void warn(String key, String format, Object arg) {
+        long suppressed = acquire(key);
+        if (suppressed == 0) {
+            logService.warn(format, arg);
+        } else if (suppressed > 0) {
+            logService.warn(format + " (+{} similar suppressed)", arg, suppressed);
+        }
+    }
+
+    public void warn(String key, String format, Object arg1, Object arg2) {
+        long suppressed = acquire(key);
+        if (suppressed == 0) {
+            logService.warn(format, arg1, arg2);
+        } else if (suppressed > 0) {
+            logService.warn(format + " (+{} similar suppressed)", arg1, arg2, suppressed);
+        }
+    }
+
+    public void error(String key, String format, Object arg) {
+        long suppressed = acquire(key);
+        if (suppressed == 0) {
+            logService.error(format, arg);
+        } else if (suppressed > 0) {
+            logService.error(format + " (+{} similar suppressed)", arg, suppressed);
+        }
+    }
+
+    /**
+     * Log an unexpected exception with its stack trace, throttled per exception class and message.
+     * @param format message pattern with one placeholder, filled with the exception message
+     * @param ex the exception
+     */
+    public void error(String format, Throwable ex) {
+        long suppressed = acquire(ex.getClass().getName() + ": " + ex.getMessage());
+        if (suppressed == 0) {
+            logService.error(format, ex.getMessage(), ex);
+        } else if (suppressed > 0) {
+            logService.error(format + " (+{} similar suppressed)", ex.getMessage(), suppressed, ex);
+        }
+    }
+
+    /**
+     * @return -1 to drop this line, otherwise how many lines were dropped since the last one logged
+     */
+    private long acquire(String key) {
+        Window w = windows.get(key, k -> new Window());
+        long now = System.nanoTime();
+        synchronized (w) {
+            if (now - w.start >= window.toNanos()) {
+                w.start = now;
+                w.logged = 0;
+            }
+            if (w.logged < burst) {
+                w.logged++;
+                long suppressed = w.suppressed;
+                w.suppressed = 0;
+                return suppressed;
+            }
+            w.suppressed++;
+            return -1;
+        }
+    }
+
+    private static final class Window {
+        long start = System.nanoTime();
+        int logged;
+        long suppressed;
+    }
+}
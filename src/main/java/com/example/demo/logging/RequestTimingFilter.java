@@ -0,0 +1,198 @@
+package com.example.demo.logging;
+
+import com.example.demo.metrics.RequestTiming;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Outermost request filter: assigns a correlation ID (X-Request-Id, reused from the caller when
+ * well-formed), times the request phases with {@link RequestTiming}, adds a Server-Timing header
+ * just before the response is committed, and writes one MDC-enriched access log line.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(RequestTimingFilter.class);
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Value("${request.server-timing.enabled:true}")
+    private boolean serverTimingEnabled;
+
+    @Value("${request.access-log.enabled:true}")
+    private boolean accessLogEnabled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = requestId(request);
+        MDC.put("requestId", requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        RequestTiming timing = RequestTiming.start();
+        TimingResponse timed = new TimingResponse(response, timing, serverTimingEnabled);
+        try {
+            chain.doFilter(request, timed);
+        } finally {
+            timed.writeServerTiming();
+            if (request.isAsyncStarted()) {
+                // 📤 Streaming responses finish on another thread; log when they complete
+                String user = MDC.get("user");
+                request.getAsyncContext().addListener(new AsyncCompletion(request, timed, requestId, user));
+            } else {
+                logAccess(request, timed.getStatus(), timing.phases());
+            }
+            RequestTiming.clear();
+            MDC.remove("requestId");
+            MDC.remove("user");
+        }
+    }
+
+    private void logAccess(HttpServletRequest request, int status, RequestTiming.Phases phases) {
+        if (!accessLogEnabled || !accessLog.isInfoEnabled()) {
+            return;
+        }
+        // ✅ Structured fields for json-logs; the console pattern only shows requestId and user
+        MDC.put("status", Integer.toString(status));
+        MDC.put("durationMs", RequestTiming.Phases.millis(phases.totalNanos()));
+        try {
+            accessLog.info("{} {} → {} in {} ms ({})", request.getMethod(), request.getRequestURI(), status,
+                    RequestTiming.Phases.millis(phases.totalNanos()), phases.header());
+        } finally {
+            MDC.remove("status");
+            MDC.remove("durationMs");
+        }
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String incoming = request.getHeader(REQUEST_ID_HEADER);
+        if (incoming != null && VALID_REQUEST_ID.matcher(incoming).matches()) {
+            return incoming;
+        }
+        // ✅ Random hex, no SecureRandom (UUID.randomUUID) contention on the request path
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    /**
+     * Writes the Server-Timing header the first time the body is opened or the response is flushed,
+     * the last moment headers can still be changed.
+     */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+        private final boolean enabled;
+        private boolean written;
+
+        TimingResponse(HttpServletResponse response, RequestTiming timing, boolean enabled) {
+            super(response);
+            this.timing = timing;
+            this.enabled = enabled;
+        }
+
+        void writeServerTiming() {
+            if (!written && enabled && !isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, timing.phases().header());
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeServerTiming();
+            super.sendError(sc);
+        }
+    }
+
+    private final class AsyncCompletion implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final TimingResponse response;
+        private final String requestId;
+        private final String user;
+
+        AsyncCompletion(HttpServletRequest request, TimingResponse response, String requestId, String user) {
+            this.request = request;
+            this.response = response;
+            this.requestId = requestId;
+            this.user = user;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            MDC.put("requestId", requestId);
+            if (user != null) {
+                MDC.put("user", user);
+            }
+            try {
+                logAccess(request, response.getStatus(), response.timing.phases());
+            } finally {
+                MDC.remove("requestId");
+                MDC.remove("user");
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -17,6 +17,17 @@ public class ServerStartupLogger implements ApplicationListener<WebServerInitial
 
         System.out.println("\n🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢");
         System.out.println("✅ Tomcat started on port " + port + " (http) with context path '" + contextPath + "'");
+        System.out.println("🧵 Request threads: " + threadMode(event));
         System.out.println("🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢🟢\n");
     }
+
+    // ⚠️ spring.threads.virtual.enabled is silently ignored below Java 21
+    private static String threadMode(WebServerInitializedEvent event) {
+        boolean requested = event.getApplicationContext().getEnvironment()
+                .getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (!requested) {
+            return "platform";
+        }
+        return Runtime.version().feature() >= 21 ? "virtual" : "platform (virtual threads need Java 21, running " + Runtime.version().feature() + ")";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.demo.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-method latency recorders, keyed by {@code SimpleClassName.method} (overloads share one recorder).
+ */
+@Component
+public class MethodMetrics {
+
+    private final Map<Method, LatencyRecorder> byMethod = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> byName = new ConcurrentHashMap<>();
+
+    /**
+     * Recorder for a method; after the first call this is a single map lookup.
+     */
+    public LatencyRecorder recorder(Method method) {
+        LatencyRecorder recorder = byMethod.get(method);
+        if (recorder == null) {
+            recorder = byMethod.computeIfAbsent(method, m -> recorder(m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+        }
+        return recorder;
+    }
+
+    public LatencyRecorder recorder(String name) {
+        return byName.computeIfAbsent(name, n -> new LatencyRecorder());
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> body = new TreeMap<>();
+        byName.forEach((name, recorder) -> body.put(name, recorder.snapshot()));
+        return body;
+    }
+
+    public void reset() {
+        byName.values().forEach(LatencyRecorder::reset);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * datasource-proxy listener that counts statements, rows and JDBC time per thread.
+ *
+ * Counters only ever grow; callers take a {@link #current()} snapshot before and after a unit of
+ * work and subtract. Rows are update counts plus every {@code ResultSet.next()} that returned true.
+ */
+public class QueryCounter implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCounter.class);
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+    private static volatile boolean installed;
+
+    private final long slowQueryNanos;
+
+    public QueryCounter(long slowQueryNanos) {
+        this.slowQueryNanos = slowQueryNanos;
+        installed = true;
+    }
+
+    /**
+     * Statements, rows and JDBC time issued so far on this thread.
+     */
+    public record Snapshot(long statements, long rows, long jdbcNanos) {
+
+        /**
+         * @return the work done since {@code start}
+         */
+        public Snapshot since(Snapshot start) {
+            return new Snapshot(statements - start.statements, rows - start.rows, jdbcNanos - start.jdbcNanos);
+        }
+    }
+
+    public static Snapshot current() {
+        Counts counts = COUNTS.get();
+        return new Snapshot(counts.statements, counts.rows, counts.jdbcNanos);
+    }
+
+    /**
+     * @return whether a datasource is being counted at all (query.metrics.enabled)
+     */
+    public static boolean isInstalled() {
+        return installed;
+    }
+
+    /**
+     * Start counting how often each SQL string runs on this thread, for N+1 detection.
+     */
+    static void trackRepeats() {
+        COUNTS.get().repeats = new HashMap<>();
+    }
+
+    /**
+     * Stop tracking repeats.
+     * @return how often the most repeated SQL string ran, keyed by that string (null if nothing ran)
+     */
+    static Map.Entry<String, Integer> stopTrackingRepeats() {
+        Counts counts = COUNTS.get();
+        Map<String, Integer> repeats = counts.repeats;
+        counts.repeats = null;
+        if (repeats == null || repeats.isEmpty()) {
+            return null;
+        }
+        return repeats.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        COUNTS.get().queryStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Counts counts = COUNTS.get();
+        long elapsed = System.nanoTime() - counts.queryStart;
+        // ✅ One JDBC batch is one round trip, however many rows it carries
+        counts.statements++;
+        counts.jdbcNanos += elapsed;
+        Object result = execInfo.getResult();
+        if (result instanceof Integer updated) {
+            counts.rows += Math.max(updated, 0);
+        } else if (result instanceof Long updated) {
+            counts.rows += Math.max(updated, 0);
+        } else if (result instanceof int[] updated) {
+            for (int rows : updated) {
+                counts.rows += rows == Statement.SUCCESS_NO_INFO ? 1 : Math.max(rows, 0);
+            }
+        }
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        if (counts.repeats != null) {
+            counts.repeats.merge(sql, 1, Integer::sum);
+        }
+        if (elapsed > slowQueryNanos) {
+            logger.warn("🐢 Slow query ({} ms): {}", elapsed / 1_000_000, sql);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            COUNTS.get().rows++;
+        }
+    }
+
+    private static final class Counts {
+        long statements;
+        long rows;
+        long jdbcNanos;
+        long queryStart;
+        Map<String, Integer> repeats;
+    }
+}
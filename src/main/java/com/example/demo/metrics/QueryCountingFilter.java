@@ -0,0 +1,91 @@
+package com.example.demo.metrics;
+
+import com.example.demo.logging.LogService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Counts the statements, rows and JDBC time of every HTTP request (including authentication) and
+ * flags requests above the query.detection thresholds: too many statements, too much JDBC time,
+ * or the same SQL repeated often enough to look like an N+1.
+ */
+@Component
+// ✅ Just inside RequestTimingFilter, so flagged-request warnings carry the request ID
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private QueryMetrics queryMetrics;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${query.detection.max-statements:20}")
+    private int maxStatements;
+
+    @Value("${query.detection.max-jdbc-time:500ms}")
+    private Duration maxJdbcTime;
+
+    @Value("${query.detection.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!QueryCounter.isInstalled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        QueryCounter.Snapshot start = QueryCounter.current();
+        QueryCounter.trackRepeats();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Map.Entry<String, Integer> mostRepeated = QueryCounter.stopTrackingRepeats();
+            QueryCounter.Snapshot work = QueryCounter.current().since(start);
+            String name = requestName(request);
+            String reasons = check(work, mostRepeated);
+            queryMetrics.recordRequest(name, work, reasons);
+            if (reasons != null) {
+                logService.warn("⚠️ {} issued {} statements ({} rows, {} ms JDBC): {}",
+                        name, work.statements(), work.rows(), work.jdbcNanos() / 1_000_000, reasons);
+            }
+        }
+    }
+
+    private String check(QueryCounter.Snapshot work, Map.Entry<String, Integer> mostRepeated) {
+        StringBuilder reasons = new StringBuilder();
+        if (work.statements() > maxStatements) {
+            reasons.append("more than ").append(maxStatements).append(" statements; ");
+        }
+        if (work.jdbcNanos() > maxJdbcTime.toNanos()) {
+            reasons.append("more than ").append(maxJdbcTime.toMillis()).append(" ms JDBC time; ");
+        }
+        if (mostRepeated != null && mostRepeated.getValue() >= repeatThreshold) {
+            // 🔁 Same SQL over and over inside one request is the usual N+1 signature
+            reasons.append("possible N+1: ").append(mostRepeated.getValue()).append("x ").append(mostRepeated.getKey()).append("; ");
+        }
+        return reasons.length() == 0 ? null : reasons.substring(0, reasons.length() - 2);
+    }
+
+    // ✅ Name by route pattern ("GET /items/{id}") so ids don't blow up the number of entries
+    private static String requestName(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+    }
+}
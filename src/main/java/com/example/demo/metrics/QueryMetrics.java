@@ -0,0 +1,136 @@
+package com.example.demo.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statement, row and JDBC time totals per HTTP request pattern and per service method,
+ * plus the most recent requests that crossed a query.detection threshold.
+ */
+@Component
+public class QueryMetrics {
+
+    private static final int RECENT_FLAGGED = 50;
+
+    private final Map<String, Totals> byRequest = new ConcurrentHashMap<>();
+    private final Map<Method, Totals> byMethod = new ConcurrentHashMap<>();
+    private final Map<String, Totals> byMethodName = new ConcurrentHashMap<>();
+    private final Deque<Map<String, Object>> flagged = new ArrayDeque<>();
+
+    /**
+     * Record one HTTP request, e.g. {@code "GET /items/{id}"}.
+     * @param reasons why the request was flagged, or null
+     */
+    public void recordRequest(String name, QueryCounter.Snapshot work, String reasons) {
+        byRequest.computeIfAbsent(name, n -> new Totals()).record(work, reasons != null);
+        if (reasons != null) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("at", Instant.now());
+            entry.put("request", name);
+            entry.put("statements", work.statements());
+            entry.put("rows", work.rows());
+            entry.put("jdbcMillis", work.jdbcNanos() / 1_000_000);
+            entry.put("reasons", reasons);
+            synchronized (flagged) {
+                flagged.addFirst(entry);
+                if (flagged.size() > RECENT_FLAGGED) {
+                    flagged.removeLast();
+                }
+            }
+        }
+    }
+
+    /**
+     * Record one service method call (nested calls are included in the caller's totals).
+     */
+    public void recordMethod(Method method, QueryCounter.Snapshot work) {
+        Totals totals = byMethod.get(method);
+        if (totals == null) {
+            totals = byMethod.computeIfAbsent(method, m -> byMethodName.computeIfAbsent(
+                    m.getDeclaringClass().getSimpleName() + "." + m.getName(), n -> new Totals()));
+        }
+        totals.record(work, false);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("requests", snapshot(byRequest));
+        body.put("methods", snapshot(byMethodName));
+        synchronized (flagged) {
+            body.put("recentFlagged", new ArrayList<>(flagged));
+        }
+        return body;
+    }
+
+    public void reset() {
+        byRequest.clear();
+        byMethodName.values().forEach(Totals::reset);
+        synchronized (flagged) {
+            flagged.clear();
+        }
+    }
+
+    private static Map<String, Map<String, Object>> snapshot(Map<String, Totals> totals) {
+        Map<String, Map<String, Object>> body = new TreeMap<>();
+        totals.forEach((name, t) -> {
+            if (t.calls.sum() > 0) {
+                body.put(name, t.snapshot());
+            }
+        });
+        return body;
+    }
+
+    private static final class Totals {
+        final LongAdder calls = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder jdbcNanos = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final LongAdder flagged = new LongAdder();
+
+        void record(QueryCounter.Snapshot work, boolean isFlagged) {
+            calls.increment();
+            statements.add(work.statements());
+            rows.add(work.rows());
+            jdbcNanos.add(work.jdbcNanos());
+            maxStatements.accumulate(work.statements());
+            if (isFlagged) {
+                flagged.increment();
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            long count = calls.sum();
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("calls", count);
+            body.put("statements", statements.sum());
+            body.put("meanStatements", count == 0 ? 0 : (double) statements.sum() / count);
+            body.put("maxStatements", maxStatements.get());
+            body.put("rows", rows.sum());
+            body.put("jdbcMillis", jdbcNanos.sum() / 1_000_000);
+            body.put("flagged", flagged.sum());
+            return body;
+        }
+
+        void reset() {
+            calls.reset();
+            statements.reset();
+            rows.reset();
+            jdbcNanos.reset();
+            maxStatements.reset();
+            flagged.reset();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.metrics;
+
+/**
+ * Where the time of one HTTP request went: authentication, controller/service code, JDBC and
+ * JSON serialization. The phases are disjoint (JDBC time is taken out of auth and app), so they
+ * add up to the total apart from filter and container overhead.
+ *
+ * Bound to the request thread by RequestTimingFilter; the marks are no-ops when no request is active.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final Thread owner = Thread.currentThread();
+    private final long start = System.nanoTime();
+    private final QueryCounter.Snapshot queriesAtStart = QueryCounter.current();
+    private long authenticatedAt;
+    private QueryCounter.Snapshot queriesAtAuth;
+    private long serializationStart;
+    private QueryCounter.Snapshot queriesAtSerialization;
+    private long serializationNanos;
+    private QueryCounter.Snapshot queriesAtEnd;
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * End of the authentication phase (called from the security filter chain).
+     */
+    public static void markAuthenticated() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.authenticatedAt == 0) {
+            timing.authenticatedAt = System.nanoTime();
+            timing.queriesAtAuth = QueryCounter.current();
+        }
+    }
+
+    /**
+     * Start of response body serialization; everything before it since authentication is app time.
+     */
+    public void serializationStarted() {
+        if (serializationStart == 0) {
+            serializationStart = System.nanoTime();
+            queriesAtSerialization = QueryCounter.current();
+        }
+    }
+
+    public void serializationFinished() {
+        serializationNanos += System.nanoTime() - serializationStart;
+    }
+
+    /**
+     * Phases up to now.
+     */
+    public Phases phases() {
+        long now = System.nanoTime();
+        // ⚠️ Streaming bodies are written from another thread, whose JDBC counters are not ours
+        QueryCounter.Snapshot queriesNow = Thread.currentThread() == owner ? QueryCounter.current()
+                : queriesAtEnd != null ? queriesAtEnd : queriesAtStart;
+        if (Thread.currentThread() == owner) {
+            queriesAtEnd = queriesNow;
+        }
+        long authEnd = authenticatedAt == 0 ? now : authenticatedAt;
+        QueryCounter.Snapshot authQueries = queriesAtAuth == null ? queriesNow : queriesAtAuth;
+        long appEnd = serializationStart == 0 ? now : serializationStart;
+        QueryCounter.Snapshot appQueries = queriesAtSerialization == null ? queriesNow : queriesAtSerialization;
+
+        QueryCounter.Snapshot db = queriesNow.since(queriesAtStart);
+        long authDb = authQueries.since(queriesAtStart).jdbcNanos();
+        long appDb = appQueries.jdbcNanos() - authQueries.jdbcNanos();
+        return new Phases(
+                Math.max(authEnd - start - authDb, 0),
+                Math.max(appEnd - authEnd - appDb, 0),
+                db.jdbcNanos(),
+                db.statements(),
+                serializationNanos,
+                now - start);
+    }
+
+    /**
+     * Nanosecond durations of each phase.
+     */
+    public record Phases(long authNanos, long appNanos, long dbNanos, long statements,
+                         long serializationNanos, long totalNanos) {
+
+        /**
+         * @return the Server-Timing header value, e.g. {@code auth;dur=0.4, app;dur=1.2, db;dur=0.8;desc="2 queries", ser;dur=0.3, total;dur=2.9}
+         */
+        public String header() {
+            StringBuilder header = new StringBuilder(128);
+            metric(header, "auth", authNanos).append(", ");
+            metric(header, "app", appNanos).append(", ");
+            metric(header, "db", dbNanos).append(";desc=\"").append(statements).append(" queries\", ");
+            metric(header, "ser", serializationNanos).append(", ");
+            metric(header, "total", totalNanos);
+            return header.toString();
+        }
+
+        public static String millis(long nanos) {
+            return appendMillis(new StringBuilder(8), nanos).toString();
+        }
+
+        private static StringBuilder metric(StringBuilder header, String name, long nanos) {
+            return appendMillis(header.append(name).append(";dur="), nanos);
+        }
+
+        // ✅ Milliseconds with one decimal, without String.format
+        private static StringBuilder appendMillis(StringBuilder out, long nanos) {
+            long tenths = (nanos + 50_000) / 100_000;
+            return out.append(tenths / 10).append('.').append(tenths % 10);
+        }
+    }
+}
@@ -1,17 +1,32 @@
 package com.example.demo.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+    // ✅ Keyset pagination: (sort key, id) so every page is an index range scan
+    @Index(name = "idx_item_expiry_id", columnList = "itemExpiryDate, id"),
+    @Index(name = "idx_item_company_id", columnList = "itemCompany, id"),
+    // ✅ Search: company + expiry window, and origin lookups
+    @Index(name = "idx_item_company_expiry", columnList = "itemCompany, itemExpiryDate, id"),
+    @Index(name = "idx_item_origin", columnList = "itemOriginLocation"),
+    // ✅ Collection ETag / Last-Modified: max(lastModified) is a single index probe
+    @Index(name = "idx_item_last_modified", columnList = "lastModified")
+})
 public class Item {
 
+    // ✅ Pooled sequence so Hibernate can batch inserts (IDENTITY disables JDBC batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Item name is required")
@@ -58,6 +73,17 @@ public class Item {
     @Column(nullable = false)
     private LocalDate itemExpiryDate;
 
+    // ✅ Optimistic locking; also the item's ETag
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(nullable = false)
+    private Long version;
+
+    // ✅ Set on insert and update; sent as Last-Modified
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModified;
+
     // ✅ Validation method
     @AssertTrue(message = "Item content must be provided if itemPack is Y")
     public boolean isItemContentValid() {
@@ -127,4 +153,10 @@ public class Item {
 
     public LocalDate getItemExpiryDate() { return itemExpiryDate; }
     public void setItemExpiryDate(LocalDate itemExpiryDate) { this.itemExpiryDate = itemExpiryDate; }
-}
\ No newline at end of file
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public Instant getLastModified() { return lastModified; }
+    public void setLastModified(Instant lastModified) { this.lastModified = lastModified; }
+}
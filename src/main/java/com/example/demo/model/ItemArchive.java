@@ -0,0 +1,53 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An expired item moved out of the item table by the expiry sweeper.
+ * Rows are only written with INSERT ... SELECT (see ItemExpirySweeper), never through this class.
+ */
+@Entity
+@Table(name = "item_archive")
+public class ItemArchive {
+
+    // ✅ Same id as the original item
+    @Id
+    private Long id;
+
+    private String itemName;
+    private Integer itemCost;
+    private Integer itemQuantity;
+    private String itemPack;
+    private Integer itemContent;
+    private Integer itemDimensions;
+    private String itemOriginLocation;
+    private Boolean itemShip;
+    private String itemCompany;
+    private LocalDateTime itemManufacturingDateTime;
+    private LocalDate itemExpiryDate;
+    private Instant lastModified;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    public ItemArchive() {}
+
+    public Long getId() { return id; }
+    public String getItemName() { return itemName; }
+    public Integer getItemCost() { return itemCost; }
+    public Integer getItemQuantity() { return itemQuantity; }
+    public String getItemPack() { return itemPack; }
+    public Integer getItemContent() { return itemContent; }
+    public Integer getItemDimensions() { return itemDimensions; }
+    public String getItemOriginLocation() { return itemOriginLocation; }
+    public Boolean getItemShip() { return itemShip; }
+    public String getItemCompany() { return itemCompany; }
+    public LocalDateTime getItemManufacturingDateTime() { return itemManufacturingDateTime; }
+    public LocalDate getItemExpiryDate() { return itemExpiryDate; }
+    public Instant getLastModified() { return lastModified; }
+    public Instant getArchivedAt() { return archivedAt; }
+}
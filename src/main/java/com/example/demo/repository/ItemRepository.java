@@ -1,8 +1,39 @@
 package com.example.demo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.demo.dto.ItemCollectionVersion;
+import com.example.demo.dto.ItemGroupStats;
+import com.example.demo.dto.ItemStatsBucket;
 import com.example.demo.model.Item;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-}
\ No newline at end of file
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item> {
+
+    // ✅ Cheap collection validator: count plus the newest change and id (no row data read)
+    @Query("select new com.example.demo.dto.ItemCollectionVersion(count(i), max(i.id), max(i.lastModified)) from Item i")
+    ItemCollectionVersion findCollectionVersion();
+
+    // ✅ Inventory stats: one GROUP BY scan per request, the expiring-soon figures via conditional sums
+    String GROUP_STATS = "count(i), sum(i.itemQuantity), sum(cast(i.itemCost as long) * i.itemQuantity),"
+            + " sum(case when i.itemExpiryDate between :from and :to then 1 else 0 end),"
+            + " sum(case when i.itemExpiryDate between :from and :to then cast(i.itemCost as long) * i.itemQuantity else 0 end)";
+
+    @Query("select new com.example.demo.dto.ItemGroupStats(i.itemCompany, " + GROUP_STATS + ")"
+            + " from Item i group by i.itemCompany order by i.itemCompany")
+    List<ItemGroupStats> findStatsByCompany(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select new com.example.demo.dto.ItemGroupStats(i.itemOriginLocation, " + GROUP_STATS + ")"
+            + " from Item i group by i.itemOriginLocation order by i.itemOriginLocation")
+    List<ItemGroupStats> findStatsByOrigin(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select new com.example.demo.dto.ItemStatsBucket(i.itemCompany, i.itemOriginLocation, i.itemExpiryDate,"
+            + " count(i), sum(i.itemQuantity), sum(cast(i.itemCost as long) * i.itemQuantity))"
+            + " from Item i group by i.itemCompany, i.itemOriginLocation, i.itemExpiryDate")
+    List<ItemStatsBucket> findStatsBuckets();
+}
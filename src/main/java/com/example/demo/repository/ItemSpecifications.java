@@ -0,0 +1,65 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ItemSearchCriteria;
+import com.example.demo.model.Item;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Search predicates for items. Every predicate compares a bare column with a bound value
+ * (equality or range, no functions or leading wildcards) so it can use the item indexes.
+ */
+public final class ItemSpecifications {
+
+    private ItemSpecifications() {}
+
+    /**
+     * AND of every filter that is set in the criteria.
+     */
+    public static Specification<Item> matching(ItemSearchCriteria criteria) {
+        return Specification.allOf(
+                companyIs(criteria.getCompany()),
+                originIs(criteria.getOrigin()),
+                shipIs(criteria.getShip()),
+                costBetween(criteria.getMinCost(), criteria.getMaxCost()),
+                expiresBetween(criteria.getExpiresFrom(), criteria.getExpiresTo()));
+    }
+
+    public static Specification<Item> companyIs(String company) {
+        return (root, query, cb) -> company == null ? null : cb.equal(root.get("itemCompany"), company);
+    }
+
+    public static Specification<Item> originIs(String origin) {
+        return (root, query, cb) -> origin == null ? null : cb.equal(root.get("itemOriginLocation"), origin);
+    }
+
+    public static Specification<Item> shipIs(Boolean ship) {
+        return (root, query, cb) -> ship == null ? null : cb.equal(root.get("itemShip"), ship);
+    }
+
+    public static Specification<Item> costBetween(Integer min, Integer max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get("itemCost"), min, max);
+            }
+            if (min != null) {
+                return cb.greaterThanOrEqualTo(root.get("itemCost"), min);
+            }
+            return max == null ? null : cb.lessThanOrEqualTo(root.get("itemCost"), max);
+        };
+    }
+
+    public static Specification<Item> expiresBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("itemExpiryDate"), from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("itemExpiryDate"), from);
+            }
+            return to == null ? null : cb.lessThanOrEqualTo(root.get("itemExpiryDate"), to);
+        };
+    }
+}
@@ -1,24 +1,92 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheConfig;
+import com.example.demo.config.TokenService;
+import com.example.demo.exception.InvalidCredentialsException;
 import com.example.demo.model.AppUser;
 import com.example.demo.repository.AppUserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class AppUserService {
 
+    // ✅ The only authorities SecurityConfig knows; tokens and cached principals carry the role verbatim
+    private static final Set<String> ROLES = Set.of("ROLE_USER", "ROLE_ADMIN");
+
     @Autowired
     private AppUserRepository appUserRepository;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Normalize a role to its authority, e.g. USER → ROLE_USER.
+     * @throws IllegalArgumentException unless the role is USER or ADMIN
+     */
+    public static String normalizeRole(String role) {
+        if (role != null && !role.startsWith("ROLE_")) {
+            role = "ROLE_" + role;
+        }
+        if (!ROLES.contains(role)) {
+            throw new IllegalArgumentException("Role must be USER or ADMIN");
+        }
+        return role;
+    }
+
+    @Transactional
     public AppUser saveUser(AppUser user) {
-        // Ensure role starts with ROLE_
-        if (!user.getRole().startsWith("ROLE_")) {
-            user.setRole("ROLE_" + user.getRole());
+        user.setRole(normalizeRole(user.getRole()));
+        AppUser existing = user.getId() == null ? null : appUserRepository.findById(user.getId()).orElse(null);
+        // ⚠️ Copy before save(): the merge writes the new values into this managed instance
+        String oldUsername = existing == null ? null : existing.getUsername();
+        boolean changed = existing != null && (!Objects.equals(oldUsername, user.getUsername())
+                || !Objects.equals(existing.getPassword(), user.getPassword())
+                || !Objects.equals(existing.getRole(), user.getRole()));
+        AppUser saved = appUserRepository.save(user);
+
+        Cache principals = cacheManager.getCache(CacheConfig.PRINCIPALS);
+        String newUsername = saved.getUsername();
+        AfterCommit.run(() -> {
+            principals.evict(newUsername);
+            if (changed) {
+                // ✅ Tokens carry the username and role, so a changed user must sign in again
+                tokenService.revokeAll(oldUsername);
+                principals.evict(oldUsername);
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Check a username and password, e.g. before issuing a bearer token.
+     * @return the user
+     * @throws InvalidCredentialsException if the user does not exist or the password is wrong
+     */
+    public AppUser authenticate(String username, String password) {
+        if (username == null || password == null) {
+            throw new InvalidCredentialsException("Username and password are required");
         }
-        return appUserRepository.save(user);
+        AppUser user = appUserRepository.findByUsername(username).orElse(null);
+        if (user == null || !passwordEncoder.matches(password, user.getPassword())) {
+            throw new InvalidCredentialsException("Bad credentials for " + username);
+        }
+        return user;
     }
 
     public List<AppUser> getAllUsers() {
@@ -29,11 +97,16 @@ public class AppUserService {
         return appUserRepository.findById(id).orElse(null);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRINCIPALS, allEntries = true)
     public void deleteUser(Long id) {
         AppUser user = appUserRepository.findById(id).orElse(null);
         if (user != null && Boolean.TRUE.equals(user.getIsImmutable())) {
             throw new RuntimeException("❌ Cannot delete superadmin");
         }
         appUserRepository.deleteById(id);
+        if (user != null) {
+            // ✅ Outstanding bearer tokens stop working right away instead of at expiry
+            tokenService.revokeAll(user.getUsername());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.dto.ItemDTO;
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk item writes: rows are validated up front and persisted in chunks,
+ * one short transaction per chunk, so Hibernate can send JDBC batches
+ * (see hibernate.jdbc.batch_size).
+ */
+@Service
+public class ItemBatchService {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ItemStatsAggregate itemStatsAggregate;
+
+    @Autowired
+    private ItemColumnStore itemColumnStore;
+
+    @Autowired
+    private ItemChangeFeed itemChangeFeed;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${item.batch.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Convert, validate and insert a list of items.
+     * @param dtos the items to create
+     * @return one result per input row, in input order
+     */
+    public List<BatchItemResult> saveAll(List<ItemDTO> dtos) {
+        BatchItemResult[] results = new BatchItemResult[dtos.size()];
+        List<Item> chunk = new ArrayList<>(Math.min(chunkSize, dtos.size()));
+        List<Integer> chunkIndexes = new ArrayList<>(Math.min(chunkSize, dtos.size()));
+
+        for (int i = 0; i < dtos.size(); i++) {
+            Map<String, String> errors;
+            Item item = null;
+            try {
+                if (dtos.get(i) == null) {
+                    throw new IllegalArgumentException("Row is empty");
+                }
+                item = itemService.convertToEntity(dtos.get(i));
+                errors = validate(item);
+            } catch (IllegalArgumentException e) {
+                // ✅ Not every conversion failure is about one field: keyed like the import job's row errors
+                errors = Collections.singletonMap("row", e.getMessage());
+            }
+
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.error(i, errors);
+                continue;
+            }
+
+            chunk.add(item);
+            chunkIndexes.add(i);
+            if (chunk.size() >= chunkSize) {
+                flush(chunk, chunkIndexes, results);
+            }
+        }
+        flush(chunk, chunkIndexes, results);
+
+        List<BatchItemResult> list = List.of(results);
+        long created = list.stream().filter(BatchItemResult::isCreated).count();
+        logService.info("📦 Batch load finished: {}/{} items created", created, results.length);
+        return list;
+    }
+
+    /**
+     * Run Bean Validation on an item.
+     * @return field → message for every violation, empty if the item is valid
+     */
+    public Map<String, String> validate(Item item) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<Item> violation : validator.validate(item)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Insert already-validated items in a single transaction. If the chunk fails,
+     * its rows are retried one by one so a single bad row only rejects itself.
+     * @return one entry per item: null if written, otherwise the failure message
+     */
+    public List<String> writeChunk(List<Item> items) {
+        List<String> failures = new ArrayList<>(Collections.nCopies(items.size(), null));
+        if (items.isEmpty()) {
+            return failures;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistAll(items));
+        } catch (RuntimeException chunkFailure) {
+            logService.warn("⚠️ Batch chunk of {} failed, retrying row by row: {}", items.size(), chunkFailure.getMessage());
+            for (int i = 0; i < items.size(); i++) {
+                Item item = items.get(i);
+                item.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistAll(List.of(item)));
+                } catch (RuntimeException rowFailure) {
+                    item.setId(null);
+                    failures.set(i, NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        return failures;
+    }
+
+    private void persistAll(List<Item> items) {
+        for (Item item : items) {
+            entityManager.persist(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // ✅ Registered inside the transaction, so they fire on its commit and never for a rolled-back chunk
+        for (Item item : items) {
+            itemStatsAggregate.record(null, itemStatsAggregate.snapshot(item));
+            itemColumnStore.upsert(item);
+            itemChangeFeed.created(item);
+        }
+    }
+
+    private void flush(List<Item> chunk, List<Integer> chunkIndexes, BatchItemResult[] results) {
+        List<String> failures = writeChunk(chunk);
+        for (int j = 0; j < chunk.size(); j++) {
+            int index = chunkIndexes.get(j);
+            String failure = failures.get(j);
+            results[index] = failure == null
+                    ? BatchItemResult.created(index, chunk.get(j).getId())
+                    : BatchItemResult.error(index, Collections.singletonMap("database", failure));
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+}
@@ -0,0 +1,406 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.ServiceUnavailableException;
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-sent change feed for items (GET /items/changes), so clients can follow writes instead of polling GET /items.
+ *
+ * Every committed create, update and delete is appended to a fixed-size ring buffer under the next
+ * sequence number, already encoded as an SSE frame:
+ * <pre>
+ * id: 1760670000000001
+ * event: updated
+ * data: {"type":"updated","id":7,"version":3,"timestamp":"...","item":{...}}
+ * </pre>
+ * so fanning an event out to any number of subscribers costs one serialization. Deletes carry no item.
+ * Sequence numbers start from the startup time in microseconds, so an ID from a previous run is
+ * older than the buffer and leads to a reset instead of silently skipping events.
+ *
+ * Subscribers do not get a thread: writes use servlet non-blocking I/O and a single dispatcher thread
+ * (plus the container's write-possible callbacks) copies frames to whichever sockets can take them.
+ * A subscriber that falls behind the ring gets a {@code reset} event (reload via GET /items, then keep
+ * following the stream); one whose socket accepts nothing for item.changes.stall-timeout is dropped.
+ * Events for the same item may, rarely, arrive out of order across concurrent commits: compare versions.
+ */
+@Service
+public class ItemChangeFeed {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    private static final byte[] KEEPALIVE = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+    private static final long TICK_MILLIS = 1000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${item.changes.enabled:true}")
+    private boolean enabled;
+
+    @Value("${item.changes.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${item.changes.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${item.changes.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${item.changes.stall-timeout:30s}")
+    private Duration stallTimeout;
+
+    @Value("${item.changes.max-write-bytes:65536}")
+    private int maxWriteBytes;
+
+    private record Event(long seq, byte[] frame) {
+    }
+
+    private AtomicReferenceArray<Event> ring;
+    private final Object appendLock = new Object();
+    private long firstSeq;
+    private volatile long lastSeq;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object signal = new Object();
+    private boolean signalled;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        ring = new AtomicReferenceArray<>(bufferSize);
+        // ✅ Sequence numbers of a previous run are always older than this one's
+        firstSeq = System.currentTimeMillis() * 1000;
+        lastSeq = firstSeq;
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "item-change-feed");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        logService.info("📡 Item change feed keeps the last {} events", bufferSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        subscribers.forEach(Subscriber::close);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void created(Item item) {
+        publish(CREATED, item.getId(), item);
+    }
+
+    public void updated(Item item) {
+        publish(UPDATED, item.getId(), item);
+    }
+
+    public void deleted(Long id) {
+        publish(DELETED, id, null);
+    }
+
+    /**
+     * Encode the event now (the entity may change before the commit) and append it once the
+     * current transaction commits.
+     */
+    private void publish(String type, Long id, Item item) {
+        if (!enabled || id == null) {
+            return;
+        }
+        String data;
+        try {
+            data = "{\"type\":\"" + type + "\",\"id\":" + id
+                    + (item == null ? "" : ",\"version\":" + item.getVersion())
+                    + ",\"timestamp\":\"" + Instant.now() + '"'
+                    + (item == null ? "" : ",\"item\":" + objectMapper.writeValueAsString(item))
+                    + '}';
+        } catch (JsonProcessingException e) {
+            logService.error("❌ Could not encode change event for item {}: {}", id, e.getMessage());
+            return;
+        }
+        String body = "event: " + type + "\ndata: " + data + "\n\n";
+        AfterCommit.run(() -> append(body));
+    }
+
+    private void append(String body) {
+        synchronized (appendLock) {
+            long seq = lastSeq + 1;
+            ring.set(slot(seq), new Event(seq, ("id: " + seq + '\n' + body).getBytes(StandardCharsets.UTF_8)));
+            lastSeq = seq;
+        }
+        published.increment();
+        wakeDispatcher();
+    }
+
+    /**
+     * Turn the request into a change stream.
+     * @param since last sequence number the client has seen (query parameter or Last-Event-ID),
+     *              or null to receive only events from now on
+     */
+    public void subscribe(HttpServletRequest request, HttpServletResponse response, Long since) throws IOException {
+        if (!enabled) {
+            throw new ServiceUnavailableException("The item change feed is disabled");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many change feed subscribers (" + maxSubscribers + ")");
+        }
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // ⚠️ Keeps reverse proxies (nginx) from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        // ✅ Commit the headers through the filter wrappers (security headers, Server-Timing) before going async
+        response.flushBuffer();
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        long latest = lastSeq;
+        Subscriber subscriber = new Subscriber(async, async.getResponse().getOutputStream(), since == null ? latest : since);
+        // ✅ Too old (missed events) or from the future (another run): tell the client to reload first
+        subscriber.resetPending = since != null && (since < oldestAvailable(latest) - 1 || since > latest);
+        subscribers.add(subscriber);
+        async.addListener(subscriber);
+        // ✅ The container calls onWritePossible as soon as the stream is writable, which sends the backlog
+        subscriber.out.setWriteListener(subscriber);
+    }
+
+    /**
+     * Buffer position, subscriber count and slow-consumer counters, for GET /admin/change-feed.
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", enabled);
+        if (enabled) {
+            long latest = lastSeq;
+            body.put("latestSeq", latest);
+            body.put("oldestSeq", latest == firstSeq ? null : oldestAvailable(latest));
+        }
+        body.put("bufferSize", bufferSize);
+        body.put("subscribers", subscribers.size());
+        body.put("published", published.sum());
+        body.put("resets", resets.sum());
+        body.put("stalledDisconnects", stalled.sum());
+        return body;
+    }
+
+    private int slot(long seq) {
+        return (int) Math.floorMod(seq, (long) bufferSize);
+    }
+
+    private long oldestAvailable(long latest) {
+        return Math.max(firstSeq + 1, latest - bufferSize + 1);
+    }
+
+    private void wakeDispatcher() {
+        synchronized (signal) {
+            signalled = true;
+            signal.notify();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                synchronized (signal) {
+                    if (!signalled) {
+                        signal.wait(TICK_MILLIS);
+                    }
+                    signalled = false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // ✅ Never blocks: each drain writes only what the socket accepts without waiting
+            for (Subscriber subscriber : subscribers) {
+                subscriber.drain();
+            }
+        }
+    }
+
+    private final class Subscriber implements WriteListener, AsyncListener {
+
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private long cursor;
+        private boolean resetPending;
+        private boolean unflushed;
+        private boolean closed;
+        private long lastWriteNanos = System.nanoTime();
+        private long blockedSinceNanos;
+
+        Subscriber(AsyncContext async, ServletOutputStream out, long cursor) {
+            this.async = async;
+            this.out = out;
+            this.cursor = cursor;
+        }
+
+        /**
+         * Write pending events until caught up or the socket would block. Called by the dispatcher
+         * for new events and heartbeats, and by the container when a blocked socket drains.
+         */
+        synchronized void drain() {
+            if (closed) {
+                return;
+            }
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    if (!out.isReady()) {
+                        // ⚠️ The container calls onWritePossible once it can take more; until then this client is stalled
+                        if (blockedSinceNanos == 0) {
+                            blockedSinceNanos = now;
+                        } else if (now - blockedSinceNanos > stallTimeout.toNanos()) {
+                            stalled.increment();
+                            logService.warn("⚠️ Dropping change feed subscriber stalled for over {}", stallTimeout);
+                            close();
+                        }
+                        return;
+                    }
+                    blockedSinceNanos = 0;
+
+                    long latest = lastSeq;
+                    if (resetPending || cursor < oldestAvailable(latest) - 1) {
+                        // 🔄 Events this client needs are gone: it must reload, then continues from here
+                        resets.increment();
+                        write(("id: " + latest + "\nevent: reset\ndata: {\"type\":\"reset\",\"latestSeq\":" + latest
+                                + "}\n\n").getBytes(StandardCharsets.US_ASCII), now);
+                        cursor = latest;
+                        resetPending = false;
+                    } else if (cursor < latest) {
+                        write(nextBatch(latest), now);
+                    } else if (unflushed) {
+                        out.flush();
+                        unflushed = false;
+                    } else if (now - lastWriteNanos >= heartbeat.toNanos()) {
+                        // ✅ Keeps proxies from closing an idle stream and notices dead clients
+                        write(KEEPALIVE, now);
+                    } else {
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        /**
+         * Consecutive frames after the cursor, up to max-write-bytes; stops early (leaving the
+         * cursor behind the ring) if the next event has already been overwritten.
+         */
+        private byte[] nextBatch(long latest) {
+            ByteArrayOutputStream batch = new ByteArrayOutputStream();
+            while (cursor < latest && batch.size() < maxWriteBytes) {
+                Event event = ring.get(slot(cursor + 1));
+                if (event == null || event.seq() != cursor + 1) {
+                    cursor = Long.MIN_VALUE;
+                    break;
+                }
+                batch.writeBytes(event.frame());
+                cursor++;
+            }
+            return batch.toByteArray();
+        }
+
+        private void write(byte[] bytes, long now) throws IOException {
+            if (bytes.length > 0) {
+                out.write(bytes);
+                unflushed = true;
+                lastWriteNanos = now;
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            subscribers.remove(this);
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
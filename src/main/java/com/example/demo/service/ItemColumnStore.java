@@ -0,0 +1,467 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ItemAnalyticsFilter;
+import com.example.demo.dto.ItemAnalyticsResult;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory column store of the item table for ad-hoc analytical scans
+ * (item.analytics.enabled).
+ *
+ * Each filterable property is a primitive column indexed by row: int arrays for cost,
+ * quantity, dimensions and expiry (epoch day), a bitset for the ship flag and
+ * dictionary-encoded ints for company and origin. Scans split the rows into ranges on a
+ * fork-join pool and only touch primitives, so a query allocates per range, never per row.
+ *
+ * The snapshot is loaded on first use and patched after every committed write from
+ * ItemService, ItemBatchService and ItemInventoryService; a patch carrying an older version
+ * than the stored row is dropped. Deleted rows are only masked out of the live bitset;
+ * the snapshot is rebuilt every item.analytics.rebuild to compact them away.
+ */
+@Service
+public class ItemColumnStore {
+
+    // ✅ Rows per fork-join leaf: big enough to amortise task overhead, small enough to spread over all cores
+    private static final int LEAF_ROWS = 16_384;
+    private static final int FETCH_SIZE = 1000;
+    private static final int ANY = -1;
+    private static final int NONE = -2;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${item.analytics.enabled:false}")
+    private boolean enabled;
+
+    @Value("${item.analytics.parallelism:0}")
+    private int parallelism;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ForkJoinPool pool;
+
+    // Columns, guarded by lock
+    private int size;
+    private int liveRows;
+    private long[] ids = new long[0];
+    private long[] version = new long[0];
+    private int[] cost = new int[0];
+    private int[] quantity = new int[0];
+    private int[] dimensions = new int[0];
+    private int[] expiryDay = new int[0];
+    private int[] company = new int[0];
+    private int[] origin = new int[0];
+    private final BitSet ship = new BitSet();
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final Dictionary companies = new Dictionary();
+    private final Dictionary origins = new Dictionary();
+    private boolean loaded;
+
+    public ItemColumnStore(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void start() {
+        pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (pool != ForkJoinPool.commonPool()) {
+            pool.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Insert or replace an item's row once the current transaction commits.
+     */
+    public void upsert(Item item) {
+        if (!enabled || item == null || item.getId() == null) {
+            return;
+        }
+        // ✅ Copy the values now; the entity may change again before the commit
+        Row row = Row.of(item);
+        // ✅ Before the first query there is nothing to patch: the load will read this write from the database
+        AfterCommit.run(() -> write(() -> {
+            if (loaded) {
+                apply(row);
+            }
+        }));
+    }
+
+    /**
+     * Mask an item's row out once the current transaction commits.
+     */
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        AfterCommit.run(() -> write(() -> {
+            Integer row = rowById.remove(id);
+            if (row != null) {
+                live.clear(row);
+                liveRows--;
+            }
+        }));
+    }
+
+    /**
+     * Drop the snapshot; the next query rebuilds it from the database.
+     */
+    public void invalidate() {
+        write(this::clear);
+    }
+
+    @Scheduled(fixedDelayString = "${item.analytics.rebuild:PT1H}", initialDelayString = "${item.analytics.rebuild:PT1H}")
+    public void rebuild() {
+        if (enabled) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Count, sum and list the rows matching every filter that is set.
+     * @param filter range, flag and equality filters
+     * @param limit maximum number of ids to return
+     * @return aggregates over all matching rows plus the first {@code limit} ids
+     */
+    public ItemAnalyticsResult query(ItemAnalyticsFilter filter, int limit) {
+        if (!enabled) {
+            throw new ResourceNotFoundException("Item analytics are disabled (item.analytics.enabled=false)");
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            long start = System.nanoTime();
+            Bounds bounds = Bounds.of(filter, companies, origins);
+            Partial result = bounds.empty || size == 0
+                    ? new Partial()
+                    : pool.invoke(new Scan(bounds, 0, size, Math.max(limit, 0)));
+            long[] matched = result.ids == null ? new long[0] : Arrays.copyOf(result.ids, result.idCount);
+            return new ItemAnalyticsResult(liveRows, result.count, result.quantity, result.value,
+                    matched, (System.nanoTime() - start) / 1000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        write(() -> {
+            if (!loaded) {
+                load();
+            }
+        });
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = entityManager.createQuery("select i.id, i.version, i.itemCost, i.itemQuantity, i.itemDimensions,"
+                            + " i.itemExpiryDate, i.itemShip, i.itemCompany, i.itemOriginLocation from Item i", Object[].class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                rows.forEach(r -> apply(new Row((Long) r[0], longValue(r[1]), intValue(r[2]), intValue(r[3]), intValue(r[4]),
+                        epochDay((LocalDate) r[5]), Boolean.TRUE.equals(r[6]), (String) r[7], (String) r[8])));
+            }
+        });
+        loaded = true;
+        logService.info("📊 Loaded item column store: {} rows in {} ms", liveRows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void clear() {
+        size = 0;
+        liveRows = 0;
+        ids = new long[0];
+        version = new long[0];
+        cost = new int[0];
+        quantity = new int[0];
+        dimensions = new int[0];
+        expiryDay = new int[0];
+        company = new int[0];
+        origin = new int[0];
+        ship.clear();
+        live.clear();
+        rowById.clear();
+        companies.clear();
+        origins.clear();
+        loaded = false;
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Row row) {
+        Integer existing = rowById.get(row.id);
+        int r;
+        if (existing != null) {
+            // ⚠️ After-commit callbacks of two writes can run in either order; never let the older row win
+            if (row.version < version[existing]) {
+                return;
+            }
+            r = existing;
+        } else {
+            r = size++;
+            if (r == ids.length) {
+                grow();
+            }
+            rowById.put(row.id, r);
+            live.set(r);
+            liveRows++;
+        }
+        ids[r] = row.id;
+        version[r] = row.version;
+        cost[r] = row.cost;
+        quantity[r] = row.quantity;
+        dimensions[r] = row.dimensions;
+        expiryDay[r] = row.expiryDay;
+        ship.set(r, row.ship);
+        company[r] = companies.code(row.company);
+        origin[r] = origins.code(row.origin);
+    }
+
+    private void grow() {
+        int capacity = Math.max(1024, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        version = Arrays.copyOf(version, capacity);
+        cost = Arrays.copyOf(cost, capacity);
+        quantity = Arrays.copyOf(quantity, capacity);
+        dimensions = Arrays.copyOf(dimensions, capacity);
+        expiryDay = Arrays.copyOf(expiryDay, capacity);
+        company = Arrays.copyOf(company, capacity);
+        origin = Arrays.copyOf(origin, capacity);
+    }
+
+    private static int intValue(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    private static long longValue(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? Integer.MIN_VALUE : (int) date.toEpochDay();
+    }
+
+    /**
+     * One fork-join task over rows [from, to).
+     */
+    private final class Scan extends RecursiveTask<Partial> {
+        private final Bounds b;
+        private final int from;
+        private final int to;
+        private final int limit;
+
+        Scan(Bounds b, int from, int to, int limit) {
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= LEAF_ROWS) {
+                return scanLeaf();
+            }
+            int mid = (from + to) >>> 1;
+            Scan left = new Scan(b, from, mid, limit);
+            left.fork();
+            Partial right = new Scan(b, mid, to, limit).compute();
+            return left.join().merge(right, limit);
+        }
+
+        private Partial scanLeaf() {
+            Partial p = new Partial();
+            for (int r = from; r < to; r++) {
+                // ✅ Equality on dictionary codes first (most selective), then one unsigned compare per range
+                if ((b.company != ANY && company[r] != b.company)
+                        || (b.origin != ANY && origin[r] != b.origin)
+                        || Integer.compareUnsigned(expiryDay[r] - b.minDay, b.daySpan) > 0
+                        || Integer.compareUnsigned(cost[r] - b.minCost, b.costSpan) > 0
+                        || Integer.compareUnsigned(quantity[r] - b.minQuantity, b.quantitySpan) > 0
+                        || Integer.compareUnsigned(dimensions[r] - b.minDimensions, b.dimensionsSpan) > 0
+                        || (b.ship != ANY && ship.get(r) != (b.ship == 1))
+                        || !live.get(r)) {
+                    continue;
+                }
+                int q = quantity[r];
+                p.count++;
+                p.quantity += q;
+                p.value += (long) cost[r] * q;
+                if (p.idCount < limit) {
+                    if (p.ids == null) {
+                        p.ids = new long[Math.min(limit, to - from)];
+                    }
+                    p.ids[p.idCount++] = ids[r];
+                }
+            }
+            return p;
+        }
+    }
+
+    /**
+     * Aggregates of one row range.
+     */
+    private static final class Partial {
+        long count;
+        long quantity;
+        long value;
+        long[] ids;
+        int idCount;
+
+        Partial merge(Partial right, int limit) {
+            count += right.count;
+            quantity += right.quantity;
+            value += right.value;
+            int take = Math.min(right.idCount, limit - idCount);
+            if (take > 0 && ids == null) {
+                ids = right.ids;
+                idCount = take;
+            } else if (take > 0) {
+                ids = Arrays.copyOf(ids, idCount + take);
+                System.arraycopy(right.ids, 0, ids, idCount, take);
+                idCount += take;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * A filter compiled to primitive bounds; unset filters become the full int range.
+     * A range check {@code min <= v <= max} is done as {@code (v - min) <=u (max - min)}.
+     */
+    private static final class Bounds {
+        int minCost = Integer.MIN_VALUE;
+        int maxCost = Integer.MAX_VALUE;
+        int minQuantity = Integer.MIN_VALUE;
+        int maxQuantity = Integer.MAX_VALUE;
+        int minDimensions = Integer.MIN_VALUE;
+        int maxDimensions = Integer.MAX_VALUE;
+        int minDay = Integer.MIN_VALUE;
+        int maxDay = Integer.MAX_VALUE;
+        int ship = ANY;
+        int company = ANY;
+        int origin = ANY;
+        int costSpan;
+        int quantitySpan;
+        int dimensionsSpan;
+        int daySpan;
+        boolean empty;
+
+        static Bounds of(ItemAnalyticsFilter f, Dictionary companies, Dictionary origins) {
+            Bounds b = new Bounds();
+            if (f.getMinCost() != null) b.minCost = f.getMinCost();
+            if (f.getMaxCost() != null) b.maxCost = f.getMaxCost();
+            if (f.getMinQuantity() != null) b.minQuantity = f.getMinQuantity();
+            if (f.getMaxQuantity() != null) b.maxQuantity = f.getMaxQuantity();
+            if (f.getMinDimensions() != null) b.minDimensions = f.getMinDimensions();
+            if (f.getMaxDimensions() != null) b.maxDimensions = f.getMaxDimensions();
+            if (f.getExpiresFrom() != null) b.minDay = epochDay(f.getExpiresFrom());
+            if (f.getExpiresTo() != null) b.maxDay = epochDay(f.getExpiresTo());
+            if (f.getShip() != null) b.ship = f.getShip() ? 1 : 0;
+            // ✅ An unknown company/origin cannot match any row, so the scan is skipped
+            if (f.getCompany() != null) b.company = companies.find(f.getCompany());
+            if (f.getOrigin() != null) b.origin = origins.find(f.getOrigin());
+            b.costSpan = b.maxCost - b.minCost;
+            b.quantitySpan = b.maxQuantity - b.minQuantity;
+            b.dimensionsSpan = b.maxDimensions - b.minDimensions;
+            b.daySpan = b.maxDay - b.minDay;
+            b.empty = b.company == NONE || b.origin == NONE
+                    || b.minCost > b.maxCost || b.minQuantity > b.maxQuantity
+                    || b.minDimensions > b.maxDimensions || b.minDay > b.maxDay;
+            return b;
+        }
+    }
+
+    /**
+     * String ↔ int code mapping for a low-cardinality column. Codes are never reused until the next rebuild.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code == null ? NONE : code;
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+        }
+    }
+
+    private record Row(long id, long version, int cost, int quantity, int dimensions, int expiryDay, boolean ship,
+                       String company, String origin) {
+
+        static Row of(Item item) {
+            return new Row(item.getId(), longValue(item.getVersion()), intValue(item.getItemCost()), intValue(item.getItemQuantity()),
+                    intValue(item.getItemDimensions()), epochDay(item.getItemExpiryDate()),
+                    Boolean.TRUE.equals(item.getItemShip()), item.getItemCompany(), item.getItemOriginLocation());
+        }
+    }
+}
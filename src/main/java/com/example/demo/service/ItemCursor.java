@@ -0,0 +1,84 @@
+package com.example.demo.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursor for item pages: {@code sortKey|direction|lastId|lastValue}, base64url encoded.
+ * Only indexed columns can be used as sort keys, and a cursor is only valid with the sort it was issued for.
+ */
+final class ItemCursor {
+
+    enum SortKey {
+        ID("id", Long::valueOf),
+        EXPIRY("itemExpiryDate", LocalDate::parse),
+        COMPANY("itemCompany", value -> value);
+
+        final String property;
+        final Function<String, Object> parser;
+
+        SortKey(String property, Function<String, Object> parser) {
+            this.property = property;
+            this.parser = parser;
+        }
+
+        static SortKey of(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Cannot sort by '" + property + "', use one of: id, itemExpiryDate, itemCompany");
+        }
+    }
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ItemCursor() {}
+
+    /**
+     * Sort order for a key; the id is always appended so the order is total.
+     */
+    static Sort sort(SortKey key, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, key.property);
+        return key == SortKey.ID ? sort : sort.and(Sort.by(direction, SortKey.ID.property));
+    }
+
+    static String encode(SortKey key, Sort.Direction direction, KeysetScrollPosition position) {
+        Map<String, ?> keys = position.getKeys();
+        String raw = key.property + "|" + direction.name() + "|" + keys.get(SortKey.ID.property) + "|" + keys.get(key.property);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScrollPosition decode(String cursor, SortKey key, Sort.Direction direction) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        String[] parts;
+        try {
+            parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page cursor");
+        }
+        if (parts.length != 4 || !key.property.equals(parts[0]) || !direction.name().equals(parts[1])) {
+            throw new IllegalArgumentException("Page cursor does not match the requested sort");
+        }
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(key.property, key.parser.apply(parts[3]));
+            keys.put(SortKey.ID.property, Long.valueOf(parts[2]));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed page cursor");
+        }
+    }
+}
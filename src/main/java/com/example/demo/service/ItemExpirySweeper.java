@@ -0,0 +1,239 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.ExpirySweepResult;
+import com.example.demo.logging.LogService;
+import com.example.demo.metrics.LatencyRecorder;
+import com.example.demo.metrics.MethodMetrics;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Removes items whose expiry date is older than the retention period.
+ *
+ * Expired rows are found through idx_item_expiry_id in (itemExpiryDate, id) order and
+ * handled in chunks of {@code item.expiry.sweep.chunk-size}, one short transaction per
+ * chunk, with a pause between chunks so the sweep never holds locks for long or
+ * monopolises a connection. In archive mode each chunk is copied to item_archive before
+ * it is deleted; in a dry run the chunks are only counted.
+ */
+@Service
+public class ItemExpirySweeper {
+
+    public static final String ARCHIVE = "archive";
+    public static final String DELETE = "delete";
+
+    private static final String FIRST_CHUNK = "select i.id, i.itemExpiryDate from Item i"
+            + " where i.itemExpiryDate < :cutoff order by i.itemExpiryDate, i.id";
+    // ✅ Keyset continuation: (itemExpiryDate, id) > (:lastExpiry, :lastId), still a range scan on the index
+    private static final String NEXT_CHUNK = "select i.id, i.itemExpiryDate from Item i"
+            + " where i.itemExpiryDate < :cutoff and (i.itemExpiryDate > :lastExpiry"
+            + " or (i.itemExpiryDate = :lastExpiry and i.id > :lastId)) order by i.itemExpiryDate, i.id";
+    private static final String COPY_TO_ARCHIVE = "insert into ItemArchive (id, itemName, itemCost, itemQuantity,"
+            + " itemPack, itemContent, itemDimensions, itemOriginLocation, itemShip, itemCompany,"
+            + " itemManufacturingDateTime, itemExpiryDate, lastModified, archivedAt)"
+            + " select i.id, i.itemName, i.itemCost, i.itemQuantity, i.itemPack, i.itemContent, i.itemDimensions,"
+            + " i.itemOriginLocation, i.itemShip, i.itemCompany, i.itemManufacturingDateTime, i.itemExpiryDate,"
+            + " i.lastModified, instant from Item i where i.id in :ids";
+    private static final String DELETE_CHUNK = "delete from Item i where i.id in :ids";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MethodMetrics methodMetrics;
+
+    @Autowired
+    private ItemStatsAggregate itemStatsAggregate;
+
+    @Autowired
+    private ItemColumnStore itemColumnStore;
+
+    @Autowired
+    private ItemChangeFeed itemChangeFeed;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${item.expiry.sweep.retention:P30D}")
+    private Period retention;
+
+    @Value("${item.expiry.sweep.mode:" + ARCHIVE + "}")
+    private String mode;
+
+    @Value("${item.expiry.sweep.dry-run:false}")
+    private boolean dryRun;
+
+    @Value("${item.expiry.sweep.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${item.expiry.sweep.pause:200ms}")
+    private Duration pause;
+
+    @Value("${item.expiry.sweep.max-chunks-per-run:1000}")
+    private int maxChunksPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder totalRows = new LongAdder();
+    private volatile ExpirySweepResult lastRun;
+
+    /**
+     * Sweep with the configured dry-run setting; scheduled by item.expiry.sweep.cron.
+     */
+    @Scheduled(cron = "${item.expiry.sweep.cron:0 30 3 * * *}")
+    public ExpirySweepResult sweepNow() {
+        return sweep(dryRun);
+    }
+
+    /**
+     * Sweep expired items now.
+     * @param dryRun only count the rows that would be swept
+     * @return the outcome, or null if a sweep is already running
+     */
+    public ExpirySweepResult sweep(boolean dryRun) {
+        if (!ARCHIVE.equals(mode) && !DELETE.equals(mode)) {
+            throw new IllegalArgumentException("Unsupported item.expiry.sweep.mode: " + mode + " (expected archive or delete)");
+        }
+        if (!running.compareAndSet(false, true)) {
+            logService.warn("⚠️ Expiry sweep skipped, another sweep is still running");
+            return null;
+        }
+        ExpirySweepResult result = new ExpirySweepResult(mode, dryRun, LocalDate.now().minus(retention));
+        try {
+            sweepChunks(result);
+        } finally {
+            running.set(false);
+            lastRun = result;
+            // 📊 Bulk deletes carry no per-row values, so the in-memory views reload instead of patching
+            if (!dryRun && result.getRows() > 0) {
+                itemStatsAggregate.invalidate();
+                itemColumnStore.invalidate();
+            }
+        }
+        logService.info("🧹 Expiry sweep ({}{}) before {}: {} rows in {} chunks, {} ms",
+                mode, dryRun ? ", dry run" : "", result.getCutoff(), result.getRows(), result.getChunks(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Totals since startup, the last run and the active settings.
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("running", running.get());
+        body.put("totalRowsSwept", totalRows.sum());
+        body.put("lastRun", lastRun);
+        body.put("retention", retention.toString());
+        body.put("mode", mode);
+        body.put("dryRun", dryRun);
+        body.put("chunkSize", chunkSize);
+        body.put("pauseMillis", pause.toMillis());
+        return body;
+    }
+
+    private void sweepChunks(ExpirySweepResult result) {
+        LatencyRecorder chunkLatency = methodMetrics.recorder("ItemExpirySweeper.chunk");
+        Cache itemCache = cacheManager.getCache(CacheConfig.ITEMS);
+        Object[] last = null;
+
+        while (result.getChunks() < maxChunksPerRun) {
+            long start = System.nanoTime();
+            Object[] after = last;
+            List<Object[]> keys = transactionTemplate.execute(status -> {
+                List<Object[]> chunk = nextChunk(result.getCutoff(), after);
+                if (!chunk.isEmpty() && !result.isDryRun()) {
+                    removeChunk(ids(chunk));
+                }
+                return chunk;
+            });
+            chunkLatency.record(System.nanoTime() - start, false);
+
+            if (keys.isEmpty()) {
+                break;
+            }
+            last = keys.get(keys.size() - 1);
+            result.addChunk(keys.size());
+            if (!result.isDryRun()) {
+                totalRows.add(keys.size());
+                List<Long> ids = ids(keys);
+                ids.forEach(itemCache::evict);
+                // 📡 One delete event per row; a sweep larger than the feed's buffer makes followers reload
+                ids.forEach(itemChangeFeed::deleted);
+            }
+            if (keys.size() < chunkSize) {
+                break;
+            }
+            if (result.getChunks() >= maxChunksPerRun) {
+                result.finish(false);
+                return;
+            }
+            if (!pause()) {
+                result.finish(false);
+                return;
+            }
+        }
+        result.finish(true);
+    }
+
+    private List<Object[]> nextChunk(LocalDate cutoff, Object[] after) {
+        TypedQuery<Object[]> query = entityManager.createQuery(after == null ? FIRST_CHUNK : NEXT_CHUNK, Object[].class)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(chunkSize);
+        if (after != null) {
+            query.setParameter("lastId", after[0]).setParameter("lastExpiry", after[1]);
+        }
+        return query.getResultList();
+    }
+
+    private void removeChunk(List<Long> ids) {
+        if (ARCHIVE.equals(mode)) {
+            entityManager.createQuery(COPY_TO_ARCHIVE).setParameter("ids", ids).executeUpdate();
+        }
+        entityManager.createQuery(DELETE_CHUNK).setParameter("ids", ids).executeUpdate();
+    }
+
+    // ✅ Throttle: let OLTP traffic have the table (and the connection pool) between chunks
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static List<Long> ids(List<Object[]> keys) {
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Object[] key : keys) {
+            ids.add((Long) key[0]);
+        }
+        return ids;
+    }
+}
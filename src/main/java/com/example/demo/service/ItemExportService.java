@@ -0,0 +1,164 @@
+package com.example.demo.service;
+
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole item table from a JDBC cursor straight to an output stream.
+ * Rows are read {@code item.export.fetch-size} at a time and the persistence context
+ * is cleared after each batch, so memory stays flat regardless of table size.
+ */
+@Service
+public class ItemExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    // ✅ Same column names as ItemDTO, so an exported CSV can be fed back to POST /items/import
+    private static final String CSV_HEADER = "id,itemName,itemCost,itemQuantity,itemPack,itemContent,itemDimensions,"
+            + "itemOriginLocation,itemShip,itemCompany,itemManufacturingDateTime,itemExpiryDate";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${item.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ItemExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write every item to {@code out} in the given format.
+     * @param format {@link #CSV} or {@link #NDJSON}
+     * @return number of rows written
+     */
+    public long export(String format, OutputStream out) {
+        checkFormat(format);
+        Long rows = readOnlyTransaction.execute(status -> {
+            try (Stream<Item> items = streamAll()) {
+                return CSV.equals(format) ? writeCsv(items.iterator(), out) : writeNdjson(items.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        logService.info("📤 Exported {} items as {}", rows, format);
+        return rows;
+    }
+
+    /**
+     * Reject unknown formats before the response is committed.
+     */
+    public void checkFormat(String format) {
+        if (!CSV.equals(format) && !NDJSON.equals(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format + " (expected csv or ndjson)");
+        }
+    }
+
+    private Stream<Item> streamAll() {
+        return entityManager.createQuery("select i from Item i order by i.id", Item.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long writeNdjson(Iterator<Item> items, OutputStream out) throws IOException {
+        long rows = 0;
+        try (SequenceWriter writer = objectMapper.writerFor(Item.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (items.hasNext()) {
+                writer.write(items.next());
+                if (++rows % fetchSize == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        if (rows > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Item> items, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (items.hasNext()) {
+            Item item = items.next();
+            writer.write(String.valueOf(item.getId()));
+            writeCsvField(writer, item.getItemName());
+            writeCsvField(writer, item.getItemCost());
+            writeCsvField(writer, item.getItemQuantity());
+            writeCsvField(writer, item.getItemPack());
+            writeCsvField(writer, item.getItemContent());
+            writeCsvField(writer, item.getItemDimensions());
+            writeCsvField(writer, item.getItemOriginLocation());
+            writeCsvField(writer, item.getItemShip());
+            writeCsvField(writer, item.getItemCompany());
+            writeCsvField(writer, item.getItemManufacturingDateTime() == null ? null : DATE_TIME.format(item.getItemManufacturingDateTime()));
+            writeCsvField(writer, item.getItemExpiryDate());
+            writer.write('\n');
+            if (++rows % fetchSize == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
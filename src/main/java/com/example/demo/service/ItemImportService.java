@@ -0,0 +1,351 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ImportJob;
+import com.example.demo.dto.ItemDTO;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming CSV / NDJSON item import.
+ *
+ * The upload is spooled to disk and processed in the background: one thread per job
+ * reads the file line by line, hands chunks of lines to a worker pool for parsing and
+ * validation, and writes the valid rows chunk by chunk in input order through
+ * {@link ItemBatchService#writeChunk}. Rejected rows go to an NDJSON error report
+ * instead of failing the job. Finished jobs and their reports are kept for item.import.retention.
+ */
+@Service
+public class ItemImportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemBatchService itemBatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${item.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${item.import.workers:0}")
+    private int workers;
+
+    @Value("${item.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${item.import.work-dir:${java.io.tmpdir}/item-imports}")
+    private String workDir;
+
+    @Value("${item.import.retention:PT1H}")
+    private Duration retention;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService jobExecutor;
+    private ExecutorService validationPool;
+    private int inFlightChunks;
+
+    @PostConstruct
+    void start() throws IOException {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        inFlightChunks = poolSize * 2;
+        validationPool = Executors.newFixedThreadPool(poolSize, named("item-import-worker"));
+        jobExecutor = Executors.newFixedThreadPool(maxConcurrentJobs, named("item-import-job"));
+        Files.createDirectories(Paths.get(workDir));
+    }
+
+    @PreDestroy
+    void stop() {
+        jobExecutor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    /**
+     * Spool the upload to disk and queue it for import.
+     * @param in the raw upload; it is fully consumed but never held in memory
+     * @param format {@link #CSV} or {@link #NDJSON}
+     * @return the queued job
+     */
+    public ImportJob submit(InputStream in, String format) throws IOException {
+        if (!CSV.equals(format) && !NDJSON.equals(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format + " (expected csv or ndjson)");
+        }
+        String id = UUID.randomUUID().toString();
+        Path source = Paths.get(workDir, id + "." + format);
+        Files.copy(in, source, StandardCopyOption.REPLACE_EXISTING);
+
+        ImportJob job = new ImportJob(id, format, source, Paths.get(workDir, id + "-errors.ndjson"));
+        jobs.put(id, job);
+        jobExecutor.execute(() -> run(job));
+        logService.info("📥 Queued item import {} ({})", id, format);
+        return job;
+    }
+
+    /**
+     * Forget jobs that finished more than item.import.retention ago and delete their error reports.
+     */
+    @Scheduled(fixedDelayString = "${item.import.purge-interval:PT5M}", initialDelayString = "${item.import.purge-interval:PT5M}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            LocalDateTime finishedAt = job.getFinishedAt();
+            if (finishedAt == null || finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(job.getErrorReport());
+            } catch (IOException e) {
+                logService.warn("⚠️ Could not delete import error report {}", job.getErrorReport());
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Look up an import job.
+     */
+    public ImportJob getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found: " + id);
+        }
+        return job;
+    }
+
+    private void run(ImportJob job) {
+        job.markRunning();
+        try (BufferedReader reader = Files.newBufferedReader(job.getSource(), StandardCharsets.UTF_8);
+             BufferedWriter errors = Files.newBufferedWriter(job.getErrorReport(), StandardCharsets.UTF_8)) {
+
+            List<String> header = CSV.equals(job.getFormat()) ? readHeader(reader) : null;
+            Deque<CompletableFuture<List<Row>>> pending = new ArrayDeque<>();
+            long lineNo = header == null ? 0 : 1;
+
+            List<Row> lines = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines.add(new Row(lineNo, line));
+                if (lines.size() >= chunkSize) {
+                    pending.add(parseAsync(lines, header));
+                    job.addRead(lines.size());
+                    lines = new ArrayList<>(chunkSize);
+                    if (pending.size() >= inFlightChunks) {
+                        write(job, pending.poll().join(), errors);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                pending.add(parseAsync(lines, header));
+                job.addRead(lines.size());
+            }
+            while (!pending.isEmpty()) {
+                write(job, pending.poll().join(), errors);
+            }
+
+            job.markFinished(ImportJob.Status.COMPLETED, null);
+            logService.info("📥 Import {} finished: {} imported, {} rejected",
+                    job.getId(), job.getRowsImported(), job.getRowsRejected());
+        } catch (Exception e) {
+            job.markFinished(ImportJob.Status.FAILED, e.getMessage());
+            logService.error("❌ Import {} failed: {}", job.getId(), e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(job.getSource());
+            } catch (IOException e) {
+                logService.warn("⚠️ Could not delete import spool file {}", job.getSource());
+            }
+        }
+    }
+
+    private List<String> readHeader(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV import is empty, a header row is required");
+        }
+        List<String> header = splitCsv(headerLine);
+        header.replaceAll(String::trim);
+        return header;
+    }
+
+    private CompletableFuture<List<Row>> parseAsync(List<Row> rows, List<String> header) {
+        return CompletableFuture.supplyAsync(() -> {
+            for (Row row : rows) {
+                parse(row, header);
+            }
+            return rows;
+        }, validationPool);
+    }
+
+    private void parse(Row row, List<String> header) {
+        try {
+            ItemDTO dto = header == null
+                    ? objectMapper.readValue(row.raw, ItemDTO.class)
+                    : objectMapper.convertValue(toMap(header, splitCsv(row.raw)), ItemDTO.class);
+            if (dto == null) {
+                throw new IllegalArgumentException("Row is empty");
+            }
+            Item item = itemService.convertToEntity(dto);
+            Map<String, String> violations = itemBatchService.validate(item);
+            if (violations.isEmpty()) {
+                row.item = item;
+            } else {
+                row.errors = violations;
+            }
+        } catch (JsonProcessingException e) {
+            row.errors = Collections.singletonMap("row", "Malformed JSON: " + e.getOriginalMessage());
+        } catch (RuntimeException e) {
+            // ✅ Anything a single row can throw rejects that row only, never the whole job
+            row.errors = Collections.singletonMap("row", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void write(ImportJob job, List<Row> rows, BufferedWriter errors) throws IOException {
+        List<Item> valid = new ArrayList<>(rows.size());
+        List<Row> validRows = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.item != null) {
+                valid.add(row.item);
+                validRows.add(row);
+            } else {
+                reject(job, row, errors);
+            }
+        }
+
+        List<String> failures = itemBatchService.writeChunk(valid);
+        long imported = 0;
+        for (int i = 0; i < validRows.size(); i++) {
+            if (failures.get(i) == null) {
+                imported++;
+            } else {
+                Row row = validRows.get(i);
+                row.errors = Collections.singletonMap("database", failures.get(i));
+                reject(job, row, errors);
+            }
+        }
+        job.addImported(imported);
+        errors.flush();
+    }
+
+    private void reject(ImportJob job, Row row, BufferedWriter errors) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("line", row.line);
+        entry.put("errors", row.errors);
+        entry.put("raw", row.raw);
+        errors.write(objectMapper.writeValueAsString(entry));
+        errors.newLine();
+        job.addRejected(1);
+    }
+
+    private static Map<String, String> toMap(List<String> header, List<String> values) {
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i);
+            map.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return map;
+    }
+
+    /**
+     * Split one CSV line (RFC 4180 quoting, no embedded line breaks).
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Row {
+        final long line;
+        final String raw;
+        Item item;
+        Map<String, String> errors;
+
+        Row(long line, String raw) {
+            this.line = line;
+            this.raw = raw;
+        }
+    }
+}
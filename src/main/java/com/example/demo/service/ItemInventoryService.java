@@ -0,0 +1,267 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.QuantityAdjustment;
+import com.example.demo.dto.QuantityAdjustmentResult;
+import com.example.demo.exception.InsufficientStockException;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stock changes on itemQuantity without a read-modify-write: each change is one conditional UPDATE
+ * ({@code itemQuantity = itemQuantity - :amount ... where itemQuantity >= :amount}), so the database
+ * row lock serializes concurrent callers and no update can be lost or push the stock below zero.
+ * Bulk forms touch rows in ID order, so two overlapping requests cannot deadlock each other.
+ */
+@Service
+public class ItemInventoryService {
+
+    // ✅ Bulk JPQL bypasses @Version and the lastModified callback, so both are bumped by hand
+    private static final String DECREMENT = "update Item i set i.itemQuantity = i.itemQuantity - :amount, "
+            + "i.version = i.version + 1, i.lastModified = :lastModified where i.id = :id and i.itemQuantity >= :amount";
+    private static final String INCREMENT = "update Item i set i.itemQuantity = i.itemQuantity + :amount, "
+            + "i.version = i.version + 1, i.lastModified = :lastModified where i.id = :id and i.itemQuantity <= :ceiling";
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ItemStatsAggregate itemStatsAggregate;
+
+    @Autowired
+    private ItemColumnStore itemColumnStore;
+
+    @Autowired
+    private ItemChangeFeed itemChangeFeed;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LogService logService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${item.quantity.max-batch:1000}")
+    private int maxBatch;
+
+    /**
+     * Add stock to one item.
+     * @param id the ID of the item
+     * @param amount units to add, at least 1
+     * @return the updated item
+     */
+    @Transactional
+    public Item increment(Long id, int amount) {
+        return adjust(id, amount, true);
+    }
+
+    /**
+     * Remove stock from one item; fails with 409 instead of going below zero.
+     * @param id the ID of the item
+     * @param amount units to remove, at least 1
+     * @return the updated item
+     */
+    @Transactional
+    public Item decrement(Long id, int amount) {
+        return adjust(id, amount, false);
+    }
+
+    /**
+     * Add stock to many items; every row succeeds or fails on its own.
+     * @param adjustments item IDs and amounts
+     * @return one result per input row, in input order
+     */
+    public List<QuantityAdjustmentResult> increment(List<QuantityAdjustment> adjustments) {
+        return adjustAll(adjustments, true, false);
+    }
+
+    /**
+     * Remove stock from many items; every row succeeds or fails on its own.
+     * @param adjustments item IDs and amounts
+     * @return one result per input row, in input order
+     */
+    public List<QuantityAdjustmentResult> decrement(List<QuantityAdjustment> adjustments) {
+        return adjustAll(adjustments, false, false);
+    }
+
+    /**
+     * Remove stock from many items all-or-nothing: if any row is short or missing, nothing is changed.
+     * @param adjustments item IDs and amounts
+     * @return one result per input row, in input order
+     */
+    public List<QuantityAdjustmentResult> reserve(List<QuantityAdjustment> adjustments) {
+        return adjustAll(adjustments, false, true);
+    }
+
+    private Item adjust(Long id, int amount, boolean add) {
+        requirePositive(amount);
+        if (execute(id, amount, add, Instant.now()) == 0) {
+            Integer current = currentQuantity(id);
+            if (current == null) {
+                throw new ResourceNotFoundException("Item not found: " + id);
+            }
+            if (add) {
+                throw new IllegalArgumentException("Adding " + amount + " to item " + id + " would exceed the maximum quantity");
+            }
+            throw new InsufficientStockException("Item " + id + " has " + current + " in stock, cannot remove " + amount);
+        }
+        // ✅ Re-read the row for the response; the UPDATE itself never saw the old value
+        Item updated = entityManager.find(Item.class, id);
+        afterCommit(updated, add ? amount : -amount);
+        logService.info("📦 {} {} units of item ID: {}, now {}", add ? "Added" : "Removed", amount, id, updated.getItemQuantity());
+        return updated;
+    }
+
+    private List<QuantityAdjustmentResult> adjustAll(List<QuantityAdjustment> adjustments, boolean add, boolean allOrNothing) {
+        if (adjustments == null || adjustments.isEmpty()) {
+            throw new IllegalArgumentException("At least one adjustment is required");
+        }
+        if (adjustments.size() > maxBatch) {
+            throw new IllegalArgumentException("At most " + maxBatch + " adjustments per request");
+        }
+        for (QuantityAdjustment adjustment : adjustments) {
+            if (adjustment == null || adjustment.getId() == null || adjustment.getAmount() == null) {
+                throw new IllegalArgumentException("Every adjustment needs an id and an amount");
+            }
+            requirePositive(adjustment.getAmount());
+        }
+
+        // ⚠️ Lock rows in ID order: two requests over overlapping items then always wait, never deadlock
+        List<Integer> order = new ArrayList<>(adjustments.size());
+        for (int i = 0; i < adjustments.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(i -> adjustments.get(i).getId()));
+
+        QuantityAdjustmentResult[] results = new QuantityAdjustmentResult[adjustments.size()];
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            boolean failed = false;
+            for (int i : order) {
+                QuantityAdjustment adjustment = adjustments.get(i);
+                if (failed && allOrNothing) {
+                    results[i] = new QuantityAdjustmentResult(i, adjustment.getId(), QuantityAdjustmentResult.ABORTED, null);
+                } else if (execute(adjustment.getId(), adjustment.getAmount(), add, now) == 1) {
+                    results[i] = new QuantityAdjustmentResult(i, adjustment.getId(), QuantityAdjustmentResult.APPLIED, null);
+                } else {
+                    Integer current = currentQuantity(adjustment.getId());
+                    String reason = current == null ? QuantityAdjustmentResult.NOT_FOUND
+                            : add ? QuantityAdjustmentResult.LIMIT_EXCEEDED : QuantityAdjustmentResult.INSUFFICIENT_STOCK;
+                    results[i] = new QuantityAdjustmentResult(i, adjustment.getId(), reason, current);
+                    failed = true;
+                }
+            }
+
+            if (failed && allOrNothing) {
+                status.setRollbackOnly();
+                for (QuantityAdjustmentResult result : results) {
+                    if (result.isApplied()) {
+                        result.setStatus(QuantityAdjustmentResult.ABORTED);
+                    }
+                }
+                return;
+            }
+
+            // 📊 Net change per item, so an ID listed twice is applied to the in-memory views once
+            Map<Long, Long> deltas = new HashMap<>();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i].isApplied()) {
+                    long amount = adjustments.get(i).getAmount();
+                    deltas.merge(results[i].getId(), add ? amount : -amount, Long::sum);
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+            // ✅ One SELECT for every changed row instead of a re-read per UPDATE
+            Map<Long, Item> updated = new HashMap<>();
+            entityManager.createQuery("select i from Item i where i.id in :ids", Item.class)
+                    .setParameter("ids", deltas.keySet())
+                    .getResultList()
+                    .forEach(item -> updated.put(item.getId(), item));
+            for (QuantityAdjustmentResult result : results) {
+                if (result.isApplied()) {
+                    result.setQuantity(updated.get(result.getId()).getItemQuantity());
+                }
+            }
+            deltas.forEach((id, delta) -> afterCommit(updated.get(id), delta));
+        });
+
+        long applied = 0;
+        for (QuantityAdjustmentResult result : results) {
+            if (result.isApplied()) {
+                applied++;
+            }
+        }
+        logService.info("📦 {} stock on {} of {} items", allOrNothing ? "Reserved" : add ? "Added" : "Removed",
+                applied, adjustments.size());
+        return List.of(results);
+    }
+
+    private int execute(Long id, int amount, boolean add, Instant now) {
+        Query update = entityManager.createQuery(add ? INCREMENT : DECREMENT)
+                .setParameter("amount", amount)
+                .setParameter("lastModified", now)
+                .setParameter("id", id);
+        if (add) {
+            update.setParameter("ceiling", Integer.MAX_VALUE - amount);
+        }
+        return update.executeUpdate();
+    }
+
+    private Integer currentQuantity(Long id) {
+        List<Integer> quantity = entityManager.createQuery("select i.itemQuantity from Item i where i.id = :id", Integer.class)
+                .setParameter("id", id)
+                .getResultList();
+        return quantity.isEmpty() ? null : quantity.get(0);
+    }
+
+    /**
+     * Bring the stats aggregate, column store, change feed and item cache in line with a committed quantity change.
+     * @param item the row as it is after the change
+     * @param delta how much its quantity changed
+     */
+    private void afterCommit(Item item, long delta) {
+        ItemStatsAggregate.Contribution after = itemStatsAggregate.snapshot(item);
+        if (after != null) {
+            // ✅ Only the quantity moved, so the old contribution follows from the new one without a read before the UPDATE
+            ItemStatsAggregate.Contribution before = new ItemStatsAggregate.Contribution(after.company(), after.origin(),
+                    after.expiryDate(), after.quantity() - delta, after.value() - (long) item.getItemCost() * delta);
+            itemStatsAggregate.record(before, after);
+        }
+        itemColumnStore.upsert(item);
+        itemChangeFeed.updated(item);
+        // ⚠️ Evict rather than put: two concurrent commits could otherwise leave the older row cached
+        Long id = item.getId();
+        Cache cache = cacheManager.getCache(CacheConfig.ITEMS);
+        AfterCommit.run(() -> cache.evict(id));
+    }
+
+    private static void requirePositive(int amount) {
+        if (amount < 1) {
+            throw new IllegalArgumentException("amount must be at least 1");
+        }
+    }
+}
@@ -1,17 +1,47 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.ItemCollectionVersion;
 import com.example.demo.dto.ItemDTO;
+import com.example.demo.dto.ItemPage;
+import com.example.demo.dto.ItemSearchCriteria;
+import com.example.demo.exception.PreconditionFailedException;
+import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.Item;
 import com.example.demo.repository.ItemRepository;
+import com.example.demo.repository.ItemSpecifications;
 import com.example.demo.logging.LogService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 public class ItemService {
@@ -24,13 +54,51 @@ public class ItemService {
     @Autowired
     private LogService logService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ItemStatsAggregate itemStatsAggregate;
+
+    @Autowired
+    private ItemColumnStore itemColumnStore;
+
+    @Autowired
+    private ItemChangeFeed itemChangeFeed;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // ✅ Everything except id and the version/lastModified bookkeeping columns
+    private static final Set<String> PATCHABLE = Set.of("itemName", "itemCost", "itemQuantity", "itemPack",
+            "itemContent", "itemDimensions", "itemOriginLocation", "itemShip", "itemCompany",
+            "itemManufacturingDateTime", "itemExpiryDate");
+
+    @Value("${item.page.default-limit:100}")
+    private int defaultPageLimit;
+
+    @Value("${item.page.max-limit:1000}")
+    private int maxPageLimit;
+
     /**
      * Save a new item to the database.
      */
+    @Transactional
     public Item saveItem(Item item) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        logService.info("📦 Created item: " + item.getItemName());
-        return itemRepository.save(item);
+        logService.info("📦 Created item: {}", item.getItemName());
+        // ✅ Flush so the change event and the response carry the generated version and lastModified
+        Item saved = itemRepository.saveAndFlush(item);
+        itemStatsAggregate.record(null, itemStatsAggregate.snapshot(saved));
+        itemColumnStore.upsert(saved);
+        itemChangeFeed.created(saved);
+        return saved;
     }
     
 
@@ -38,14 +106,20 @@ public class ItemService {
      * Update an existing item by ID.
      * @param id the ID of the item to update
      * @param newItem the new item data
+     * @param expectedVersion version from the client's If-Match header, or null to skip the check
      * @return the updated item
      */
-public Item updateItem(Long id, Item newItem) {
+@Transactional
+public Item updateItem(Long id, Item newItem, Long expectedVersion) {
     Item existing = itemRepository.findById(id)
-        .orElseThrow(() -> {
-            logService.error("❌ Failed to update item: " + id + " → Item not found");
-            return new RuntimeException("Item not found");
-        });
+        .orElseThrow(() -> new ResourceNotFoundException("Item not found: " + id));
+
+    // 🔒 If-Match: refuse to overwrite a version the client has not seen (save() re-checks it in the UPDATE)
+    if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+        logService.warn("⚠️ Stale update for item ID: {} (expected version {}, found {})", id, expectedVersion, existing.getVersion());
+        throw new PreconditionFailedException("Item " + id + " has changed since version " + expectedVersion);
+    }
+    ItemStatsAggregate.Contribution before = itemStatsAggregate.snapshot(existing);
 
     // 🔄 Field-by-field update with null checks
     if (newItem.getItemName() != null) existing.setItemName(newItem.getItemName());
@@ -55,7 +129,7 @@ public Item updateItem(Long id, Item newItem) {
 
     // ⚠️ Warn if itemPack is 'Y' but itemContent is missing
     if ("Y".equals(newItem.getItemPack()) && newItem.getItemContent() == null) {
-        logService.warn("⚠️ Item pack is Y but content missing for item ID: " + id);
+        logService.warn("⚠️ Item pack is Y but content missing for item ID: {}", id);
     }
 
     existing.setItemContent(newItem.getItemContent());
@@ -67,20 +141,140 @@ public Item updateItem(Long id, Item newItem) {
     if (newItem.getItemManufacturingDateTime() != null) existing.setItemManufacturingDateTime(newItem.getItemManufacturingDateTime());
     if (newItem.getItemExpiryDate() != null) existing.setItemExpiryDate(newItem.getItemExpiryDate());
 
-    logService.info("✏️ Updated item: " + existing.getItemName() + " (ID: " + id + ")");
-    return itemRepository.save(existing);
+    logService.info("✏️ Updated item: {} (ID: {})", existing.getItemName(), id);
+    // ✅ Flush now: @Version and @UpdateTimestamp only apply on flush, and the change event is encoded below
+    Item saved = itemRepository.saveAndFlush(existing);
+    itemStatsAggregate.record(before, itemStatsAggregate.snapshot(saved));
+    itemColumnStore.upsert(saved);
+    itemChangeFeed.updated(saved);
+    evictAfterCommit(id);
+    return saved;
 }
 
     /**
-     * Get all items from the database.
+     * Partially update an item with a single UPDATE of the supplied columns, then return the row.
+     * @param id the ID of the item to patch
+     * @param changes property name → new value (JSON types, same formats as Item)
+     * @param expectedVersion version from the client's If-Match header, or null to skip the check
+     * @return the updated item
      */
-    public List<Item> getAllItems() {
-        return itemRepository.findAll();
+    @Transactional
+    public Item patchItem(Long id, Map<String, Object> changes, Long expectedVersion) {
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("PATCH body must contain at least one field");
+        }
+        for (String property : changes.keySet()) {
+            if (!PATCHABLE.contains(property)) {
+                throw new IllegalArgumentException("Field '" + property + "' cannot be patched");
+            }
+        }
+
+        // 🔄 Let Jackson apply the Item field types and @JsonFormat patterns, then read the typed values back
+        BeanWrapper typed = new BeanWrapperImpl(objectMapper.convertValue(changes, Item.class));
+
+        // ✅ Generated JPQL; properties are sorted so each field combination maps to one cached query plan
+        StringBuilder jpql = new StringBuilder("update Item i set i.version = i.version + 1, i.lastModified = :lastModified");
+        Map<String, Object> parameters = new TreeMap<>();
+        for (String property : new TreeSet<>(changes.keySet())) {
+            Object value = typed.getPropertyValue(property);
+            Set<ConstraintViolation<Item>> violations = validator.validateValue(Item.class, property, value);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(property + ": " + violations.iterator().next().getMessage());
+            }
+            jpql.append(", i.").append(property).append(" = :").append(property);
+            parameters.put(property, value);
+        }
+        jpql.append(" where i.id = :id");
+        if (expectedVersion != null) {
+            jpql.append(" and i.version = :expectedVersion");
+            parameters.put("expectedVersion", expectedVersion);
+        }
+
+        // 📊 The stats aggregate needs the old values; only then is the row read before the UPDATE
+        ItemStatsAggregate.Contribution before = null;
+        if (itemStatsAggregate.isEnabled()) {
+            Item current = entityManager.find(Item.class, id);
+            before = itemStatsAggregate.snapshot(current);
+            if (current != null) {
+                entityManager.detach(current);
+            }
+        }
+
+        Query update = entityManager.createQuery(jpql.toString())
+                .setParameter("lastModified", Instant.now())
+                .setParameter("id", id);
+        parameters.forEach(update::setParameter);
+
+        if (update.executeUpdate() == 0) {
+            if (!itemRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Item not found: " + id);
+            }
+            throw new PreconditionFailedException("Item " + id + " has changed since version " + expectedVersion);
+        }
+
+        // ✅ Re-read the row and check whole-entity rules (e.g. itemPack=Y needs itemContent); a violation rolls back
+        Item patched = entityManager.find(Item.class, id);
+        Set<ConstraintViolation<Item>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<Item> first = violations.iterator().next();
+            throw new IllegalArgumentException(first.getPropertyPath() + ": " + first.getMessage());
+        }
+        itemStatsAggregate.record(before, itemStatsAggregate.snapshot(patched));
+        itemColumnStore.upsert(patched);
+        itemChangeFeed.updated(patched);
+        evictAfterCommit(id);
+        logService.info("✏️ Patched item ID: {} fields {}", id, changes.keySet());
+        return patched;
+    }
+
+    /**
+     * Get one keyset page of items.
+     * @param limit page size, capped at item.page.max-limit
+     * @param after cursor from the previous page, or null for the first page
+     * @param sort indexed property to sort by (id, itemExpiryDate or itemCompany)
+     * @param direction asc or desc
+     * @return the page and the cursor of the next one
+     */
+    public ItemPage getItemsPage(Integer limit, String after, String sort, String direction) {
+        return searchItems(new ItemSearchCriteria(), limit, after, sort, direction);
+    }
+
+    /**
+     * Search items by company, origin, shipping flag, cost range and expiry window, one keyset page at a time.
+     * @param criteria the filters; unset filters are ignored
+     * @param limit page size, capped at item.page.max-limit
+     * @param after cursor from the previous page, or null for the first page
+     * @param sort indexed property to sort by (id, itemExpiryDate or itemCompany)
+     * @param direction asc or desc
+     * @return the page and the cursor of the next one
+     */
+    public ItemPage searchItems(ItemSearchCriteria criteria, Integer limit, String after, String sort, String direction) {
+        int pageSize = limit == null ? defaultPageLimit : Math.min(Math.max(limit, 1), maxPageLimit);
+        ItemCursor.SortKey key = ItemCursor.SortKey.of(sort);
+        Sort.Direction dir = Sort.Direction.fromString(direction);
+        ScrollPosition position = ItemCursor.decode(after, key, dir);
+
+        Window<Item> window = itemRepository.findBy(ItemSpecifications.matching(criteria),
+                query -> query.sortBy(ItemCursor.sort(key, dir)).limit(pageSize).scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = ItemCursor.encode(key, dir, (KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        return new ItemPage(window.getContent(), nextCursor, pageSize);
+    }
+
+    /**
+     * Validator for the whole item collection, used as the ETag of list responses.
+     */
+    public ItemCollectionVersion getCollectionVersion() {
+        return itemRepository.findCollectionVersion();
     }
 
     /**
      * Get a single item by ID.
      */
+    @Cacheable(cacheNames = CacheConfig.ITEMS, key = "#id", unless = "#result == null")
     public Item getItemById(Long id) {
         return itemRepository.findById(id).orElse(null);
     }
@@ -88,15 +282,30 @@ public Item updateItem(Long id, Item newItem) {
     /**
      * Delete an item by ID.
      */
+    @Transactional
     public void deleteItem(Long id) {
-        if (!itemRepository.existsById(id)) {
-            logService.warn("⚠️ Tried to delete non-existent item: " + id);
+        Item existing = itemRepository.findById(id).orElse(null);
+        if (existing == null) {
+            logService.warn("⚠️ Tried to delete non-existent item: {}", id);
         } else {
             String username = SecurityContextHolder.getContext().getAuthentication().getName();
-            logService.info("🗑️ User '" + username + "' deleted item with ID: " + id);
-            itemRepository.deleteById(id);
+            logService.info("🗑️ User '{}' deleted item with ID: {}", username, id);
+            itemRepository.delete(existing);
+            itemStatsAggregate.record(itemStatsAggregate.snapshot(existing), null);
+            itemColumnStore.remove(id);
+            itemChangeFeed.deleted(id);
+            evictAfterCommit(id);
         }
     }
+
+    /**
+     * Drop the cached row once the write commits; the next GET reads the committed one.
+     */
+    private void evictAfterCommit(Long id) {
+        // ⚠️ A @CachePut could run before the commit (keeping a rolled-back row) or two could land in reverse commit order
+        Cache cache = cacheManager.getCache(CacheConfig.ITEMS);
+        AfterCommit.run(() -> cache.evict(id));
+    }
     /**
      * Convert DTO to Entity
      */
@@ -109,7 +318,7 @@ public Item updateItem(Long id, Item newItem) {
             int cost = Integer.parseInt(dto.getItemCost());
             item.setItemCost(cost);
         } catch (NumberFormatException e) {
-            logService.error("❌ Invalid item cost format for item: " + dto.getItemName());
+            logService.error("❌ Invalid item cost format for item: {}", dto.getItemName());
             throw new IllegalArgumentException("Item cost must be a valid number greater than zero.");
         }
 
@@ -118,7 +327,7 @@ public Item updateItem(Long id, Item newItem) {
         item.setItemContent(dto.getItemContent());
 
         if ("Y".equals(dto.getItemPack()) && dto.getItemContent() == null) {
-            logService.warn("⚠️ Item pack is Y but content missing for item: " + dto.getItemName());
+            logService.warn("⚠️ Item pack is Y but content missing for item: {}", dto.getItemName());
         }
 
         item.setItemDimensions(dto.getItemDimensions());
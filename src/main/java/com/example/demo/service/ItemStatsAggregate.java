@@ -0,0 +1,252 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ItemGroupStats;
+import com.example.demo.dto.ItemStatsBucket;
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional in-memory copy of the inventory stats (item.stats.in-memory.enabled).
+ *
+ * It is loaded once from a GROUP BY query and then kept current by applying every item
+ * write as a delta after its transaction commits, so dashboard reads never touch the
+ * database. Writes the services cannot describe row by row (the expiry sweeper's bulk
+ * deletes) call {@link #invalidate()} instead, and the aggregate is also reloaded every
+ * item.stats.in-memory.resync to repair any drift from writes made outside this application.
+ *
+ * A write must be counted either by the load's GROUP BY or by its delta, never both. Each
+ * writing transaction therefore holds a shared commit gate from just before its commit until
+ * its delta is applied, and the load runs its query under the exclusive side of that gate:
+ * no commit can land between the snapshot and its delta being applied (or dropped). The load
+ * holds its connection before it takes the gate, so it never waits for the pool while writers
+ * wait for it.
+ */
+@Component
+public class ItemStatsAggregate {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${item.stats.in-memory.enabled:false}")
+    private boolean enabled;
+
+    private final Map<String, Group> byCompany = new HashMap<>();
+    private final Map<String, Group> byOrigin = new HashMap<>();
+    // ✅ Shared by committing writers, exclusive for the load query; always taken before this object's monitor
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ItemStatsAggregate(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * What one item contributes to the stats.
+     */
+    public record Contribution(String company, String origin, LocalDate expiryDate, long quantity, long value) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Capture an item's contribution, e.g. before it is modified.
+     * @return the contribution, or null if the aggregate is disabled or there is no item
+     */
+    public Contribution snapshot(Item item) {
+        if (!enabled || item == null) {
+            return null;
+        }
+        long quantity = item.getItemQuantity() == null ? 0 : item.getItemQuantity();
+        long cost = item.getItemCost() == null ? 0 : item.getItemCost();
+        return new Contribution(item.getItemCompany(), item.getItemOriginLocation(), item.getItemExpiryDate(),
+                quantity, cost * quantity);
+    }
+
+    /**
+     * Apply an item change as a delta: {@code before} is null for an insert, {@code after} for a delete.
+     * Must be called inside the writing transaction: the delta is applied after commit, so a rollback
+     * never reaches the stats, and a load cannot run between the commit and the delta.
+     */
+    public void record(Contribution before, Contribution after) {
+        if (!enabled || (before == null && after == null)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(before, after);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean gated;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitGate.readLock().lock();
+                gated = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(before, after);
+                    }
+                } finally {
+                    if (gated) {
+                        commitGate.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop the aggregate; the next read reloads it from the database.
+     */
+    public synchronized void invalidate() {
+        byCompany.clear();
+        byOrigin.clear();
+        loaded = false;
+    }
+
+    @Scheduled(fixedDelayString = "${item.stats.in-memory.resync:PT15M}", initialDelayString = "${item.stats.in-memory.resync:PT15M}")
+    public void resync() {
+        if (enabled) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Stats per company or per origin, sorted by key.
+     * @param byCompanyKey group by company (true) or origin (false)
+     * @param from first day of the expiring-soon window
+     * @param to last day of the expiring-soon window
+     */
+    public List<ItemGroupStats> stats(boolean byCompanyKey, LocalDate from, LocalDate to) {
+        while (true) {
+            if (!loaded) {
+                load();
+            }
+            synchronized (this) {
+                // ⚠️ An invalidate() may slip in between the load and this read; load again rather than serve empty stats
+                if (loaded) {
+                    List<ItemGroupStats> groups = new ArrayList<>();
+                    new TreeMap<>(byCompanyKey ? byCompany : byOrigin).forEach((key, group) -> groups.add(group.toStats(key, from, to)));
+                    return groups;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        // ⚠️ Begin the transaction (which takes a pooled connection) before closing the gate: writers wait at the
+        // gate holding their own connections, so on a saturated pool a gated load could never get one
+        readOnlyTransaction.executeWithoutResult(status -> {
+            // Waits for in-flight commits to apply their deltas and holds new commits back until the GROUP BY is done
+            commitGate.writeLock().lock();
+            try {
+                synchronized (this) {
+                    if (loaded) {
+                        return;
+                    }
+                    long start = System.nanoTime();
+                    List<ItemStatsBucket> buckets = itemRepository.findStatsBuckets();
+                    for (ItemStatsBucket bucket : buckets) {
+                        byCompany.computeIfAbsent(bucket.company(), k -> new Group())
+                                .add(bucket.expiryDate(), bucket.itemCount(), bucket.totalQuantity(), bucket.inventoryValue());
+                        byOrigin.computeIfAbsent(bucket.origin(), k -> new Group())
+                                .add(bucket.expiryDate(), bucket.itemCount(), bucket.totalQuantity(), bucket.inventoryValue());
+                    }
+                    loaded = true;
+                    logService.info("📊 Loaded item stats aggregate from {} buckets in {} ms", buckets.size(), (System.nanoTime() - start) / 1_000_000);
+                }
+            } finally {
+                commitGate.writeLock().unlock();
+            }
+        });
+    }
+
+    private synchronized void apply(Contribution before, Contribution after) {
+        // ✅ Nothing to patch until the first read loads the aggregate (that load runs after this commit and sees it)
+        if (!loaded) {
+            return;
+        }
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+    }
+
+    private void add(Contribution c, int sign) {
+        addTo(byCompany, c.company(), c, sign);
+        addTo(byOrigin, c.origin(), c, sign);
+    }
+
+    private static void addTo(Map<String, Group> groups, String key, Contribution c, int sign) {
+        Group group = groups.computeIfAbsent(key, k -> new Group());
+        group.add(c.expiryDate(), sign, sign * c.quantity(), sign * c.value());
+        if (group.count == 0) {
+            groups.remove(key);
+        }
+    }
+
+    private static final class Group {
+        long count;
+        long quantity;
+        long value;
+        // ✅ expiry date → {count, value}, so any expiring-soon window is a sub-map sum
+        final TreeMap<LocalDate, long[]> byExpiry = new TreeMap<>();
+
+        void add(LocalDate expiryDate, long count, long quantity, long value) {
+            this.count += count;
+            this.quantity += quantity;
+            this.value += value;
+            if (expiryDate == null) {
+                return;
+            }
+            long[] day = byExpiry.computeIfAbsent(expiryDate, d -> new long[2]);
+            day[0] += count;
+            day[1] += value;
+            if (day[0] == 0) {
+                byExpiry.remove(expiryDate);
+            }
+        }
+
+        ItemGroupStats toStats(String key, LocalDate from, LocalDate to) {
+            long expiringCount = 0;
+            long expiringValue = 0;
+            for (long[] day : byExpiry.subMap(from, true, to, true).values()) {
+                expiringCount += day[0];
+                expiringValue += day[1];
+            }
+            return new ItemGroupStats(key, count, quantity, value, expiringCount, expiringValue);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ItemGroupStats;
+import com.example.demo.dto.ItemStats;
+import com.example.demo.repository.ItemRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Inventory statistics per company or origin location. Computed by GROUP BY queries in the
+ * database, or served from {@link ItemStatsAggregate} when item.stats.in-memory.enabled is set.
+ */
+@Service
+public class ItemStatsService {
+
+    public static final String COMPANY = "company";
+    public static final String ORIGIN = "origin";
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemStatsAggregate itemStatsAggregate;
+
+    @Value("${item.stats.expiring-within-days:30}")
+    private int defaultExpiringWithinDays;
+
+    /**
+     * Inventory value, counts and expiring-soon totals.
+     * @param groupBy {@link #COMPANY} or {@link #ORIGIN}
+     * @param expiringWithinDays size of the expiring-soon window starting today, or null for the default
+     * @return one entry per group plus the overall total
+     */
+    public ItemStats getStats(String groupBy, Integer expiringWithinDays) {
+        if (!COMPANY.equals(groupBy) && !ORIGIN.equals(groupBy)) {
+            throw new IllegalArgumentException("Unsupported groupBy: " + groupBy + " (expected company or origin)");
+        }
+        int days = expiringWithinDays == null ? defaultExpiringWithinDays : expiringWithinDays;
+        if (days < 0) {
+            throw new IllegalArgumentException("expiringWithinDays must not be negative");
+        }
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(days);
+
+        List<ItemGroupStats> groups;
+        String source;
+        if (itemStatsAggregate.isEnabled()) {
+            groups = itemStatsAggregate.stats(COMPANY.equals(groupBy), from, to);
+            source = "memory";
+        } else {
+            groups = COMPANY.equals(groupBy)
+                    ? itemRepository.findStatsByCompany(from, to)
+                    : itemRepository.findStatsByOrigin(from, to);
+            source = "database";
+        }
+        return new ItemStats(groupBy, from, to, source, ItemGroupStats.sum("total", groups), groups);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.logging.LogService;
+import com.example.demo.model.Item;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group commit for single-item creates (item.create.coalesce.enabled).
+ *
+ * Concurrent POST /items callers hand their item to a queue and wait; a flusher thread collects up
+ * to max-batch items or whatever arrives within max-wait of the first one, writes them with
+ * {@link ItemBatchService#writeChunk} (one transaction, one JDBC batch) and completes each caller with
+ * its own generated ID or its own error. When the previous batch held a single item and nothing else
+ * is queued, the flusher does not wait at all, so an idle server adds no latency.
+ */
+@Service
+public class ItemWriteCoalescer {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemBatchService itemBatchService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LogService logService;
+
+    @Value("${item.create.coalesce.enabled:false}")
+    private boolean enabled;
+
+    @Value("${item.create.coalesce.max-batch:50}")
+    private int maxBatch;
+
+    @Value("${item.create.coalesce.max-wait:2ms}")
+    private Duration maxWait;
+
+    @Value("${item.create.coalesce.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${item.create.coalesce.flushers:1}")
+    private int flushers;
+
+    @Value("${item.create.coalesce.timeout:30s}")
+    private Duration timeout;
+
+    private BlockingQueue<Pending> queue;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    private record Pending(Item item, CompletableFuture<Item> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        for (int i = 0; i < flushers; i++) {
+            Thread thread = new Thread(this::flushLoop, "item-create-coalescer-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        logService.info("📦 Coalescing item creates: up to {} items or {} per transaction", maxBatch, maxWait);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        if (queue != null) {
+            Pending pending;
+            while ((pending = queue.poll()) != null) {
+                pending.result.completeExceptionally(new IllegalStateException("Shutting down"));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Create an item as part of the next group commit, blocking until it is written.
+     * Falls back to {@link ItemService#saveItem} if the queue is full.
+     * @return the saved item with its generated ID
+     */
+    public Item create(Item item) {
+        Pending pending = new Pending(item, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            overflows.increment();
+            return itemService.saveItem(item);
+        }
+        try {
+            return pending.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for the item write", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the item write", e);
+        }
+    }
+
+    /**
+     * Batches written, items per batch and queue overflows.
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", enabled);
+        long batchCount = batches.sum();
+        body.put("batches", batchCount);
+        body.put("items", items.sum());
+        body.put("meanBatchSize", batchCount == 0 ? 0 : (double) items.sum() / batchCount);
+        body.put("queued", queue == null ? 0 : queue.size());
+        body.put("overflows", overflows.sum());
+        return body;
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        int lastBatchSize = 0;
+        while (running) {
+            try {
+                batch.add(queue.take());
+                // ⚠️ Only linger for followers when there is contention; a lone request is written immediately
+                if (lastBatchSize > 1 || !queue.isEmpty()) {
+                    long deadline = System.nanoTime() + maxWait.toNanos();
+                    while (batch.size() < maxBatch) {
+                        long remaining = deadline - System.nanoTime();
+                        Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+                queue.drainTo(batch, maxBatch - batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                lastBatchSize = batch.size();
+                try {
+                    flush(batch);
+                } catch (Throwable e) {
+                    // ⚠️ Anything flush() did not handle (e.g. from the cache) must not kill the flusher and strand later callers
+                    logService.error("❌ Coalesced write of {} items failed", batch.size(), e);
+                    batch.forEach(pending -> pending.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<Item> chunk = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            chunk.add(pending.item);
+        }
+        List<String> failures;
+        try {
+            failures = itemBatchService.writeChunk(chunk);
+        } catch (RuntimeException e) {
+            logService.error("❌ Coalesced write of {} items failed: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+            return;
+        }
+        batches.increment();
+        items.add(batch.size());
+        Cache cache = cacheManager.getCache(CacheConfig.ITEMS);
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            if (failures.get(i) == null) {
+                // ✅ Committed, detached and new (no concurrent writer can know its id yet), so safe to cache
+                cache.put(pending.item.getId(), pending.item);
+                pending.result.complete(pending.item);
+            } else {
+                pending.result.completeExceptionally(new DataIntegrityViolationException(failures.get(i)));
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo;
+
+import com.example.demo.model.Item;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Shared test data: a valid item and the Basic header of the seeded admin user.
+ */
+public final class TestFixtures {
+
+    // ✅ superadmin/superpass is seeded at startup (see ItemDataLoadApplication)
+    public static final String ADMIN_BASIC = "Basic "
+            + Base64.getEncoder().encodeToString("superadmin:superpass".getBytes(StandardCharsets.UTF_8));
+
+    private TestFixtures() {}
+
+    /**
+     * An unsaved item that passes validation: 5 units at cost 10 from Acme, expiring in a year.
+     */
+    public static Item newItem(String name) {
+        Item item = new Item();
+        item.setItemName(name);
+        item.setItemCost(10);
+        item.setItemQuantity(5);
+        item.setItemPack("N");
+        item.setItemDimensions(1);
+        item.setItemOriginLocation("IN");
+        item.setItemShip(true);
+        item.setItemCompany("Acme");
+        item.setItemManufacturingDateTime(LocalDateTime.now());
+        item.setItemExpiryDate(LocalDate.now().plusYears(1));
+        return item;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+import com.example.demo.service.ItemService;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GET /items/{id} lookup cost with and without the item cache on a Zipfian (skew 0.99) key
+ * distribution. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("h2")
+@SpringBootTest(properties = {
+        "item.cache.max-entries=2000"
+})
+class ItemCacheBenchmarkTests {
+
+    private static final int ITEMS = 20_000;
+    private static final int WARMUP = 20_000;
+    private static final int LOOKUPS = 100_000;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void cacheOnVersusCacheOff() {
+        List<Long> ids = seed();
+
+        long offNanos = run(ids, id -> itemRepository.findById(id).orElse(null));
+        long onNanos = run(ids, itemService::getItemById);
+
+        double hitRatio = ((CaffeineCache) cacheManager.getCache(CacheConfig.ITEMS)).getNativeCache().stats().hitRate();
+        System.out.printf("item cache benchmark: %d items, %d Zipfian lookups%n", ITEMS, LOOKUPS);
+        System.out.printf("  cache off: %,d ns/op%n", offNanos / LOOKUPS);
+        System.out.printf("  cache on:  %,d ns/op (hit ratio %.3f)%n", onNanos / LOOKUPS, hitRatio);
+
+        assertTrue(hitRatio > 0.5, "a 10% cache should absorb most of a Zipfian workload");
+    }
+
+    private long run(List<Long> ids, LongFunction<Item> lookup) {
+        ZipfianGenerator keys = new ZipfianGenerator(ids.size(), 0.99, 42);
+        for (int i = 0; i < WARMUP; i++) {
+            lookup.apply(ids.get(keys.next()));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookup.apply(ids.get(keys.next()));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private List<Long> seed() {
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(null, "bench-" + i, 10 + i % 90, 100, "N", null, 3, "Pune", true,
+                    "Company-" + i % 50, LocalDateTime.of(2025, 1, 1, 10, 0), LocalDate.of(2027, 1, 1)));
+        }
+        List<Long> ids = new ArrayList<>(ITEMS);
+        itemRepository.saveAll(items).forEach(item -> ids.add(item.getId()));
+        return ids;
+    }
+}
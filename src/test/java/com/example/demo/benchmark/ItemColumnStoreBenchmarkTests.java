@@ -0,0 +1,104 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.ItemAnalyticsFilter;
+import com.example.demo.dto.ItemAnalyticsResult;
+import com.example.demo.model.Item;
+import com.example.demo.service.ItemColumnStore;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Analytics scan latency of the column store against a stream over the same Item objects.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("h2")
+@SpringBootTest(properties = {
+        "logging.level.com.example.demo=WARN",
+        "item.analytics.enabled=true"
+})
+class ItemColumnStoreBenchmarkTests {
+
+    private static final int ROWS = 500_000;
+    private static final int RUNS = 50;
+
+    @Autowired
+    private ItemColumnStore itemColumnStore;
+
+    @Test
+    void columnScanVersusObjectScan() {
+        List<Item> items = seed();
+
+        ItemAnalyticsFilter filter = new ItemAnalyticsFilter();
+        filter.setMinCost(100);
+        filter.setMaxCost(700);
+        filter.setMinQuantity(10);
+        filter.setShip(true);
+        filter.setCompany("Company-7");
+        filter.setExpiresFrom(LocalDate.of(2027, 1, 1));
+        filter.setExpiresTo(LocalDate.of(2027, 12, 31));
+        Predicate<Item> predicate = item -> item.getItemCost() >= 100 && item.getItemCost() <= 700
+                && item.getItemQuantity() >= 10 && item.getItemShip()
+                && item.getItemCompany().equals("Company-7")
+                && !item.getItemExpiryDate().isBefore(LocalDate.of(2027, 1, 1))
+                && !item.getItemExpiryDate().isAfter(LocalDate.of(2027, 12, 31));
+
+        ItemAnalyticsResult result = null;
+        long objectCount = 0;
+        long objectValue = 0;
+        for (int i = 0; i < RUNS; i++) {
+            result = itemColumnStore.query(filter, 100);
+            objectCount = items.stream().filter(predicate).count();
+            objectValue = items.stream().filter(predicate).mapToLong(item -> (long) item.getItemCost() * item.getItemQuantity()).sum();
+        }
+
+        long columnNanos = 0;
+        long objectNanos = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            itemColumnStore.query(filter, 100);
+            columnNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            items.stream().filter(predicate).mapToLong(item -> (long) item.getItemCost() * item.getItemQuantity()).sum();
+            objectNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf("column store benchmark: %,d rows, %d matching%n", ROWS, result.count());
+        System.out.printf("  column scan: %.2f ms/query%n", columnNanos / 1e6 / RUNS);
+        System.out.printf("  object scan: %.2f ms/query (single-threaded stream over Item)%n", objectNanos / 1e6 / RUNS);
+
+        assertEquals(objectCount, result.count());
+        assertEquals(objectValue, result.inventoryValue());
+        assertEquals(ROWS, result.rowsScanned());
+    }
+
+    private List<Item> seed() {
+        // ✅ Load the (empty) snapshot first so the upserts below patch it
+        itemColumnStore.query(new ItemAnalyticsFilter(), 0);
+
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Item item = new Item((long) i + 1, "bench-" + i, 1 + random.nextInt(1000), random.nextInt(500), "N", null,
+                    1 + random.nextInt(50), "Origin-" + random.nextInt(20), random.nextBoolean(),
+                    "Company-" + random.nextInt(50), LocalDateTime.of(2025, 1, 1, 10, 0),
+                    LocalDate.of(2026, 1, 1).plusDays(random.nextInt(1000)));
+            items.add(item);
+            itemColumnStore.upsert(item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.benchmark.LoadDriver.Client;
+import com.example.demo.benchmark.LoadDriver.Operation;
+import com.example.demo.benchmark.LoadDriver.Workload;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end /items throughput and latency through the real HTTP stack on an embedded H2
+ * database. Runs a read-heavy, a write-heavy and a bulk workload and writes a JSON report to
+ * {@code target/load-report.json}.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=ItemLoadBenchmarkTests}; tune with
+ * {@code -Dload.clients=16 -Dload.warmupSeconds=3 -Dload.durationSeconds=10 -Dload.report=path}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.example.demo=WARN",
+        "admission.enabled=false"
+})
+class ItemLoadBenchmarkTests {
+
+    private static final int SEED_ITEMS = 1_000;
+    private static final int BATCH_SIZE = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long[] seededIds;
+
+    @Test
+    void mixedWorkloads() throws Exception {
+        seed();
+        int clients = Integer.getInteger("load.clients", 16);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 3));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 10));
+        LoadDriver driver = new LoadDriver(port, "superadmin", "superpass");
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Workload workload : List.of(readHeavy(), writeHeavy(), createOnly(), bulk())) {
+            Map<String, Object> result = driver.run(workload, clients, warmup, duration);
+            results.add(result);
+            System.out.printf("load %-12s %8.1f req/s  p50 %6s us  p99 %7s us  p999 %7s us  errors %s%n",
+                    workload.name(), result.get("requestsPerSecond"),
+                    latency(result, "p50Micros"), latency(result, "p99Micros"), latency(result, "p999Micros"),
+                    result.get("errors"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("java", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("seedItems", SEED_ITEMS);
+        report.put("workloads", results);
+        File file = new File(System.getProperty("load.report", "target/load-report.json"));
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("load report written to " + file.getAbsolutePath());
+
+        for (Map<String, Object> result : results) {
+            assertEquals(0L, ((Number) result.get("errors")).longValue(), "errors in " + result.get("workload"));
+        }
+    }
+
+    // ✅ 90% point reads, the rest page reads and full updates of existing items
+    private Workload readHeavy() {
+        return new Workload("read-heavy", List.of(
+                new Operation("GET /items/{id}", 90, c -> c.send("GET", "/items/" + seededId(c), null).statusCode()),
+                new Operation("GET /items", 5, c -> c.send("GET", "/items?limit=20", null).statusCode()),
+                new Operation("PUT /items/{id}", 5, c -> c.send("PUT", "/items/" + seededId(c), itemJson(c)).statusCode())));
+    }
+
+    // ✅ Creates, partial updates and deletes of the client's own items, with some reads
+    private Workload writeHeavy() {
+        return new Workload("write-heavy", List.of(
+                new Operation("POST /items", 40, this::create),
+                new Operation("PATCH /items/{id}", 25, c -> c.send("PATCH", "/items/" + seededId(c),
+                        "{\"itemQuantity\":" + (1 + c.random.nextInt(500)) + "}").statusCode()),
+                new Operation("DELETE /items/{id}", 15, this::deleteOwn),
+                new Operation("GET /items/{id}", 20, c -> c.send("GET", "/items/" + seededId(c), null).statusCode())));
+    }
+
+    // ✅ Concurrent single-item creates only (compare with -Ditem.create.coalesce.enabled=true)
+    private Workload createOnly() {
+        return new Workload("create-only", List.of(
+                new Operation("POST /items", 100, c -> c.send("POST", "/items", itemJson(c)).statusCode())));
+    }
+
+    // ✅ Batch inserts and large keyset pages
+    private Workload bulk() {
+        return new Workload("bulk", List.of(
+                new Operation("POST /items/batch", 60, c -> {
+                    StringBuilder json = new StringBuilder("[");
+                    for (int i = 0; i < BATCH_SIZE; i++) {
+                        json.append(i == 0 ? "" : ",").append(itemJson(c));
+                    }
+                    return c.send("POST", "/items/batch", json.append(']').toString()).statusCode();
+                }),
+                new Operation("GET /items?limit=500", 40, c -> c.send("GET", "/items?limit=500", null).statusCode())));
+    }
+
+    private int create(Client client) throws Exception {
+        HttpResponse<String> response = client.send("POST", "/items", itemJson(client));
+        if (response.statusCode() == 201) {
+            client.created.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+        return response.statusCode();
+    }
+
+    private int deleteOwn(Client client) throws Exception {
+        Long id = client.created.poll();
+        return id == null ? create(client) : client.send("DELETE", "/items/" + id, null).statusCode();
+    }
+
+    private long seededId(Client client) {
+        return seededIds[client.random.nextInt(seededIds.length)];
+    }
+
+    private static String itemJson(Client client) {
+        int n = client.random.nextInt(1_000_000);
+        return "{\"itemName\":\"load-" + n + "\",\"itemCost\":\"" + (1 + n % 900) + "\",\"itemQuantity\":" + (n % 500)
+                + ",\"itemPack\":\"N\",\"itemDimensions\":3,\"itemOriginLocation\":\"Origin-" + n % 20
+                + "\",\"itemShip\":true,\"itemCompany\":\"Company-" + n % 50
+                + "\",\"itemManufacturingDateTime\":\"2025-01-01T10:00:00\",\"itemExpiryDate\":\"2027-01-01\"}";
+    }
+
+    private static Object latency(Map<String, Object> result, String key) {
+        return ((Map<?, ?>) result.get("latency")).get(key);
+    }
+
+    private void seed() {
+        List<Item> items = new ArrayList<>(SEED_ITEMS);
+        for (int i = 0; i < SEED_ITEMS; i++) {
+            items.add(new Item(null, "seed-" + i, 10 + i % 90, 100, "N", null, 3, "Origin-" + i % 20, true,
+                    "Company-" + i % 50, LocalDateTime.of(2025, 1, 1, 10, 0), LocalDate.of(2027, 1, 1)));
+        }
+        seededIds = itemRepository.saveAll(items).stream().mapToLong(Item::getId).toArray();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+import com.example.demo.service.ItemService;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Quantity change through PUT (load, copy, merge) versus PATCH (one UPDATE of the changed column).
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("h2")
+@SpringBootTest(properties = {
+        "logging.level.com.example.demo=WARN"
+})
+class ItemUpdateBenchmarkTests {
+
+    private static final int ITEMS = 1_000;
+    private static final int WARMUP = 2_000;
+    private static final int UPDATES = 10_000;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void patchVersusPut() {
+        List<Long> ids = seed();
+
+        run(ids, WARMUP, this::put);
+        run(ids, WARMUP, this::patch);
+        long putNanos = run(ids, UPDATES, this::put);
+        long patchNanos = run(ids, UPDATES, this::patch);
+
+        System.out.printf("item update benchmark: %d updates over %d items%n", UPDATES, ITEMS);
+        System.out.printf("  PUT   (select + merge, all columns): %,d ns/op%n", putNanos / UPDATES);
+        System.out.printf("  PATCH (single UPDATE, one column):   %,d ns/op%n", patchNanos / UPDATES);
+
+        Item item = itemService.patchItem(ids.get(0), Map.of("itemQuantity", 7), null);
+        assertEquals(7, item.getItemQuantity());
+    }
+
+    private void put(long id, int quantity) {
+        Item changes = new Item();
+        changes.setItemQuantity(quantity);
+        itemService.updateItem(id, changes, null);
+    }
+
+    private void patch(long id, int quantity) {
+        itemService.patchItem(id, Map.of("itemQuantity", quantity), null);
+    }
+
+    private long run(List<Long> ids, int count, Update update) {
+        SplittableRandom random = new SplittableRandom(7);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            update.apply(ids.get(random.nextInt(ids.size())), random.nextInt(1, 1_000));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private List<Long> seed() {
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(null, "bench-" + i, 10 + i % 90, 100, "N", null, 3, "Pune", true,
+                    "Company-" + i % 50, LocalDateTime.of(2025, 1, 1, 10, 0), LocalDate.of(2027, 1, 1)));
+        }
+        List<Long> ids = new ArrayList<>(ITEMS);
+        itemRepository.saveAll(items).forEach(item -> ids.add(item.getId()));
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface Update {
+        void apply(long id, int quantity);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.metrics.LatencyRecorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator: each client thread picks a weighted operation, sends it
+ * with HTTP Basic auth, waits for the response and repeats until the deadline. Latency is
+ * recorded per operation after a warm-up phase.
+ */
+final class LoadDriver {
+
+    private final String baseUrl;
+    private final String authorization;
+    private final HttpClient http;
+
+    LoadDriver(int port, String username, String password) {
+        this.baseUrl = "http://localhost:" + port;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+    }
+
+    /**
+     * One request type; {@code send} returns the HTTP status (or throws).
+     */
+    interface Action {
+        int send(Client client) throws Exception;
+    }
+
+    record Operation(String name, int weight, Action action) {
+    }
+
+    record Workload(String name, List<Operation> operations) {
+    }
+
+    /**
+     * Per-thread request helper with its own random stream and the ids it created.
+     */
+    final class Client {
+        final SplittableRandom random;
+        final Deque<Long> created = new ArrayDeque<>();
+
+        Client(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        HttpResponse<String> send(String method, String path, String json) throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", authorization)
+                    .timeout(Duration.ofSeconds(60));
+            if (json == null) {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofString(json));
+            }
+            return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    /**
+     * Run a workload: warm up, then measure for {@code duration}.
+     * @return machine-readable summary (req/s, errors, latency percentiles overall and per operation)
+     */
+    Map<String, Object> run(Workload workload, int clients, Duration warmup, Duration duration) throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        workload.operations().forEach(op -> recorders.put(op.name(), new LatencyRecorder()));
+        LatencyRecorder total = new LatencyRecorder();
+        int totalWeight = workload.operations().stream().mapToInt(Operation::weight).sum();
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        AtomicLong measuring = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            Client client = new Client(31L * c + workload.name().hashCode());
+            pool.execute(() -> {
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        Operation op = pick(workload.operations(), client.random.nextInt(totalWeight));
+                        boolean failed;
+                        try {
+                            int status = op.action().send(client);
+                            failed = status < 200 || status >= 300;
+                        } catch (Exception e) {
+                            failed = true;
+                        }
+                        long elapsed = System.nanoTime() - now;
+                        if (now >= warmupEnd) {
+                            recorders.get(op.name()).record(elapsed, failed);
+                            total.record(elapsed, failed);
+                            measuring.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        double seconds = duration.toNanos() / 1e9;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workload", workload.name());
+        report.put("clients", clients);
+        report.put("durationSeconds", seconds);
+        report.put("requests", measuring.get());
+        report.put("errors", total.getErrors());
+        report.put("requestsPerSecond", Math.round(measuring.get() / seconds * 10) / 10.0);
+        report.put("latency", latency(total));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> {
+            Map<String, Object> op = latency(recorder);
+            op.put("requests", recorder.getCalls());
+            op.put("errors", recorder.getErrors());
+            operations.put(name, op);
+        });
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Object> latency(LatencyRecorder recorder) {
+        Map<String, Object> snapshot = recorder.snapshot();
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (String key : List.of("p50Micros", "p99Micros", "p999Micros", "maxMicros", "meanMicros")) {
+            latency.put(key, snapshot.get(key));
+        }
+        return latency;
+    }
+
+    private static Operation pick(List<Operation> operations, int ticket) {
+        for (Operation op : operations) {
+            ticket -= op.weight();
+            if (ticket < 0) {
+                return op;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Load test with the default Tomcat platform-thread pool. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.example.demo=WARN",
+        "admission.enabled=false",
+        "item.cache.max-entries=0",
+        "spring.threads.virtual.enabled=false"
+})
+class PlatformThreadLoadBenchmarkTests extends ThreadModeLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
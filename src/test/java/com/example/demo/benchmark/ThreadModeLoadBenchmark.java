@@ -0,0 +1,64 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.benchmark.LoadDriver.Operation;
+import com.example.demo.benchmark.LoadDriver.Workload;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many concurrent HTTP clients reading items through the real server (cache off, so every
+ * request reaches the database). Subclasses pick the request thread mode.
+ */
+abstract class ThreadModeLoadBenchmark {
+
+    private static final int ITEMS = 2_000;
+    private static final int CLIENTS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    abstract String mode();
+
+    @Test
+    void concurrentClients() throws Exception {
+        long[] ids = seed();
+        Workload reads = new Workload("point-reads", List.of(new Operation("GET /items/{id}", 1,
+                c -> c.send("GET", "/items/" + ids[c.random.nextInt(ids.length)], null).statusCode())));
+
+        Map<String, Object> result = new LoadDriver(port, "superadmin", "superpass")
+                .run(reads, CLIENTS, Duration.ofSeconds(5), Duration.ofSeconds(20));
+
+        Map<?, ?> latency = (Map<?, ?>) result.get("latency");
+        System.out.printf("thread mode load benchmark (%s threads): %d clients%n", mode(), CLIENTS);
+        System.out.printf("  throughput: %s req/s, errors: %s%n", result.get("requestsPerSecond"), result.get("errors"));
+        System.out.printf("  latency: p50 %s us, p99 %s us, p999 %s us%n",
+                latency.get("p50Micros"), latency.get("p99Micros"), latency.get("p999Micros"));
+
+        assertEquals(0L, ((Number) result.get("errors")).longValue());
+    }
+
+    private long[] seed() {
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(null, "load-" + i, 10 + i % 90, 100, "N", null, 3, "Pune", true,
+                    "Company-" + i % 50, LocalDateTime.of(2025, 1, 1, 10, 0), LocalDate.of(2027, 1, 1)));
+        }
+        return itemRepository.saveAll(items).stream().mapToLong(Item::getId).toArray();
+    }
+}
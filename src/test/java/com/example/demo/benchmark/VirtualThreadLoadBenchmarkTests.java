@@ -0,0 +1,28 @@
+package com.example.demo.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Same load as {@link PlatformThreadLoadBenchmarkTests} with requests on virtual threads and the
+ * database behind the semaphore. Needs Java 21; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("h2")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.example.demo=WARN",
+        "admission.enabled=false",
+        "item.cache.max-entries=0",
+        "spring.threads.virtual.enabled=true"
+})
+class VirtualThreadLoadBenchmarkTests extends ThreadModeLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^skew.
+ */
+class ZipfianGenerator {
+
+    private final double[] cdf;
+    private final SplittableRandom random;
+
+    ZipfianGenerator(int n, double skew, long seed) {
+        cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        random = new SplittableRandom(seed);
+    }
+
+    int next() {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cdf.length - 1);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AIMD behaviour of the concurrency limit: additive increase on fast requests, multiplicative
+ * decrease on slow ones (at most once per interval), and the min/max bounds.
+ */
+class AdaptiveConcurrencyLimitTests {
+
+    private static final long TARGET = Duration.ofMillis(50).toNanos();
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    @Test
+    void rejectsAboveTheLimitAndAdmitsAgainAfterRelease() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 0.5, TARGET, 0);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(0, 0);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void fastRequestsRaiseTheLimitByAboutOnePerLimitCompletions() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 0.5, TARGET, 0);
+
+        // ✅ 10 + 1/10 per release: ten releases are not quite +1, twenty are (≈ 11.8)
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(1, FAST);
+        }
+        assertEquals(10, limit.getLimit());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(1, FAST);
+        }
+        assertEquals(11, limit.getLimit());
+        assertEquals(0, limit.getDecreases());
+    }
+
+    @Test
+    void slowRequestsCutTheLimitOncePerInterval() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 0.5, TARGET, Duration.ofHours(1).toNanos());
+
+        assertTrue(limit.tryAcquire());
+        limit.release(2, 2 * SLOW);
+        assertEquals(5, limit.getLimit());
+
+        // ⚠️ Same slow burst within the interval: no second cut
+        assertTrue(limit.tryAcquire());
+        limit.release(1, SLOW);
+        assertEquals(5, limit.getLimit());
+        assertEquals(1, limit.getDecreases());
+    }
+
+    @Test
+    void staysWithinMinAndMax() {
+        AdaptiveConcurrencyLimit shrinking = new AdaptiveConcurrencyLimit(4, 3, 10, 0.5, TARGET, 0);
+        assertTrue(shrinking.tryAcquire());
+        shrinking.release(1, SLOW);
+        assertEquals(3, shrinking.getLimit());
+
+        AdaptiveConcurrencyLimit growing = new AdaptiveConcurrencyLimit(50, 1, 5, 0.5, TARGET, 0);
+        assertEquals(5, growing.getLimit());
+        assertTrue(growing.tryAcquire());
+        growing.release(1, FAST);
+        assertEquals(5, growing.getLimit());
+    }
+
+    @Test
+    void requestsWithoutStatementsDoNotMoveTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 0.5, TARGET, 0);
+        assertTrue(limit.tryAcquire());
+        limit.release(0, 0);
+        assertEquals(10, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.demo.TestFixtures.ADMIN_BASIC;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The filter's 429/503 responses (JSON body plus Retry-After) and which paths it guards. The admin's
+ * own bucket holds two requests and refills once every 1000 s, so it only empties on purpose.
+ */
+@SpringBootTest(properties = {
+        "admission.user.ADMIN.rate=0.001",
+        "admission.user.ADMIN.burst=2",
+        "admission.concurrency.initial-limit=1",
+        "admission.concurrency.min-limit=1",
+        "admission.concurrency.max-limit=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AdmissionControlFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Test
+    void rejectsWith503ThenWith429AndLeavesOtherPathsAlone() throws Exception {
+        // 🚦 Someone else holds the only concurrency slot: 503, and the admin's tokens are refunded
+        assertTrue(admissionControl.tryAcquire("someone", "USER").admitted());
+        try {
+            mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.code").value(503))
+                    .andExpect(jsonPath("$.details").value("server busy"));
+        } finally {
+            admissionControl.release(0, 0);
+        }
+
+        // ✅ Both tokens are still there; the context path does not hide /items from the filter
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/items").contextPath("/api").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/stats").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1000"))
+                .andExpect(jsonPath("$.code").value(429))
+                .andExpect(jsonPath("$.details").value("user rate limit"));
+
+        // ⚠️ A path that merely starts with "/items" is not an item endpoint
+        mockMvc.perform(get("/itemsfoo").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GCRA token buckets per user and per role, and the refunds that keep a rejection further down
+ * the chain from costing the caller a token.
+ */
+class AdmissionControlTests {
+
+    @Test
+    void userBucketAllowsItsBurstThenRefillsAtTheRate() throws Exception {
+        AdmissionControl admission = admissionControl(new MockEnvironment()
+                .withProperty("admission.user.USER.rate", "10")
+                .withProperty("admission.user.USER.burst", "3"));
+
+        for (int i = 0; i < 3; i++) {
+            admitAndRelease(admission, "alice");
+        }
+        AdmissionControl.Decision rejected = admission.tryAcquire("alice", "USER");
+        assertEquals(429, rejected.status());
+        assertEquals("user rate limit", rejected.reason());
+        assertEquals(1, rejected.retryAfterSeconds());
+
+        // ✅ Another user has a bucket of their own
+        admitAndRelease(admission, "bob");
+
+        // One token comes back every 100 ms
+        Thread.sleep(150);
+        admitAndRelease(admission, "alice");
+        assertEquals(429, admission.tryAcquire("alice", "USER").status());
+    }
+
+    @Test
+    void roleBucketIsSharedAndItsRejectionRefundsTheUserToken() throws Exception {
+        AdmissionControl admission = admissionControl(new MockEnvironment()
+                .withProperty("admission.user.USER.rate", "0.5")
+                .withProperty("admission.user.USER.burst", "1")
+                .withProperty("admission.role.USER.rate", "10")
+                .withProperty("admission.role.USER.burst", "2"));
+
+        admitAndRelease(admission, "alice");
+        admitAndRelease(admission, "bob");
+        AdmissionControl.Decision rejected = admission.tryAcquire("carol", "USER");
+        assertEquals(429, rejected.status());
+        assertEquals("role rate limit", rejected.reason());
+
+        // ⚠️ Without the refund carol's own bucket would now be empty for two seconds
+        Thread.sleep(150);
+        admitAndRelease(admission, "carol");
+    }
+
+    @Test
+    void concurrencyRejectionIs503AndRefundsBothBuckets() {
+        AdmissionControl admission = admissionControl(new MockEnvironment()
+                .withProperty("admission.user.USER.rate", "0.5")
+                .withProperty("admission.user.USER.burst", "1")
+                .withProperty("admission.role.USER.rate", "0.5")
+                .withProperty("admission.role.USER.burst", "2")
+                .withProperty("admission.concurrency.initial-limit", "1")
+                .withProperty("admission.concurrency.min-limit", "1"));
+
+        assertTrue(admission.tryAcquire("alice", "USER").admitted());
+        AdmissionControl.Decision rejected = admission.tryAcquire("bob", "USER");
+        assertEquals(503, rejected.status());
+        assertEquals("server busy", rejected.reason());
+        assertEquals(1, rejected.retryAfterSeconds());
+        admission.release(0, 0);
+
+        // ✅ bob's only user token and the role's second token were given back
+        admitAndRelease(admission, "bob");
+        assertEquals(1L, admission.status().get("rejectedByConcurrency"));
+    }
+
+    @Test
+    void unknownRolesGetUserLimits() {
+        AdmissionControl admission = admissionControl(new MockEnvironment()
+                .withProperty("admission.user.USER.rate", "0.5")
+                .withProperty("admission.user.USER.burst", "1"));
+
+        admitAndRelease(admission, "alice");
+        assertEquals(429, admission.tryAcquire("alice", "AUDITOR").status());
+    }
+
+    private static void admitAndRelease(AdmissionControl admission, String user) {
+        AdmissionControl.Decision decision = admission.tryAcquire(user, "USER");
+        assertTrue(decision.admitted(), () -> user + " rejected: " + decision.reason());
+        admission.release(0, 0);
+    }
+
+    private static AdmissionControl admissionControl(MockEnvironment environment) {
+        AdmissionControl admission = new AdmissionControl();
+        ReflectionTestUtils.setField(admission, "environment", environment);
+        ReflectionTestUtils.setField(admission, "enabled", true);
+        ReflectionTestUtils.setField(admission, "idleBucketExpiry", Duration.ofMinutes(10));
+        admission.init();
+        return admission;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Signature, expiry, revocation and payload parsing of bearer tokens.
+ */
+class TokenServiceTests {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofMinutes(15));
+
+    @Test
+    void issuedTokenVerifiesWithItsClaims() {
+        TokenService.Claims claims = tokenService.verify(tokenService.issue("alice", "ROLE_USER"));
+
+        assertNotNull(claims);
+        assertEquals("alice", claims.username());
+        assertEquals("ROLE_USER", claims.role());
+        assertEquals(Duration.ofMinutes(15).toMillis(), claims.expiresAtMillis() - claims.issuedAtMillis());
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        String token = tokenService.issue("alice", "ROLE_USER");
+        String payload = token.substring(0, token.indexOf('.'));
+        String signature = token.substring(token.indexOf('.') + 1);
+
+        // Flipped signature character
+        char last = signature.charAt(signature.length() - 1);
+        assertNull(tokenService.verify(payload + '.' + signature.substring(0, signature.length() - 1) + (last == 'A' ? 'B' : 'A')));
+        // Payload promoted to admin, original signature
+        String decoded = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+        assertNull(tokenService.verify(encode(decoded.replace("ROLE_USER", "ROLE_ADMIN")) + '.' + signature));
+        // Signed with another key
+        assertNull(new TokenService("another-secret-another-secret-32b", Duration.ofMinutes(15)).verify(token));
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        TokenService shortLived = new TokenService(SECRET, Duration.ofMillis(1));
+        String token = shortLived.issue("alice", "ROLE_USER");
+        Thread.sleep(10);
+
+        assertNull(shortLived.verify(token));
+    }
+
+    @Test
+    void revokeAllRejectsEarlierTokensOnly() throws Exception {
+        String before = tokenService.issue("alice", "ROLE_USER");
+        String other = tokenService.issue("bob", "ROLE_USER");
+        Thread.sleep(2);
+        tokenService.revokeAll("alice");
+        Thread.sleep(2);
+
+        assertNull(tokenService.verify(before));
+        assertNotNull(tokenService.verify(other));
+        assertNotNull(tokenService.verify(tokenService.issue("alice", "ROLE_USER")));
+    }
+
+    @Test
+    void malformedTokensAreRejectedWithoutThrowing() {
+        assertNull(tokenService.verify(""));
+        assertNull(tokenService.verify("no-dot"));
+        assertNull(tokenService.verify(".signature-only"));
+        assertNull(tokenService.verify("a.b.c"));
+        assertNull(tokenService.verify("!!not base64!!.%%%"));
+    }
+
+    @Test
+    void fieldsWithControlCharactersAreNeverSigned() {
+        // 🔒 "USER\nROLE_ADMIN" as a role would otherwise read back as username "…\nUSER", role ROLE_ADMIN
+        assertThrows(IllegalArgumentException.class, () -> tokenService.issue("mallory", "ROLE_USER\nROLE_ADMIN"));
+        assertThrows(IllegalArgumentException.class, () -> tokenService.issue("mallory\nROLE_ADMIN", "ROLE_USER"));
+        assertThrows(IllegalArgumentException.class, () -> tokenService.issue("", "ROLE_USER"));
+    }
+
+    @Test
+    void correctlySignedPayloadWithExtraFieldsIsRejected() throws Exception {
+        long now = System.currentTimeMillis();
+        String payload = encode("mallory\nROLE_USER\nROLE_ADMIN\n" + now + '\n' + (now + 60_000));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+
+        assertNull(tokenService.verify(payload + '.' + signature));
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        assertThrows(IllegalStateException.class, () -> new TokenService("too-short", Duration.ofMinutes(15)));
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.controller;
+
+import com.example.demo.repository.AppUserRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.example.demo.TestFixtures.ADMIN_BASIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bearer tokens end to end: role-based access with a token, the 401 for a bad one, and the user
+ * changes that must (or must not) revoke tokens or grant a role.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AuthControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Test
+    void bearerTokensFollowTheRoleRules() throws Exception {
+        String admin = token("superadmin", "superpass");
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + admin)).andExpect(status().isOk());
+        mockMvc.perform(get("/admin/admission").header(HttpHeaders.AUTHORIZATION, "Bearer " + admin)).andExpect(status().isOk());
+
+        createUser(null, "bearer-user", "USER").andExpect(status().isOk());
+        String user = token("bearer-user", "secret");
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + user)).andExpect(status().isOk());
+        mockMvc.perform(get("/admin/admission").header(HttpHeaders.AUTHORIZATION, "Bearer " + user)).andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + user + "x"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""));
+    }
+
+    @Test
+    void roleMustBeUserOrAdmin() throws Exception {
+        createUser(null, "mallory", "USER\nROLE_ADMIN").andExpect(status().isBadRequest());
+        createUser(null, "mallory", "ROLE_SUPERUSER").andExpect(status().isBadRequest());
+        // ⚠️ Unprefixed ADMIN is still an admin role for the anonymous check
+        createUser(null, "mallory", "ADMIN").andExpect(status().is5xxServerError());
+        assertFalse(appUserRepository.findByUsername("mallory").isPresent());
+    }
+
+    @Test
+    void failedAnonymousSaveDoesNotRevokeTheExistingUser() throws Exception {
+        String admin = token("superadmin", "superpass");
+
+        createUser(null, "superadmin", "USER").andExpect(status().is5xxServerError());
+        createUser(appUserRepository.findByUsername("superadmin").orElseThrow().getId(), "superadmin", "USER")
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + admin)).andExpect(status().isOk());
+    }
+
+    @Test
+    void renameRevokesTheOldUsernamesTokens() throws Exception {
+        createUser(null, "before-rename", "USER").andExpect(status().isOk());
+        String old = token("before-rename", "secret");
+        String oldBasic = "Basic " + Base64.getEncoder().encodeToString("before-rename:secret".getBytes(StandardCharsets.UTF_8));
+        // Caches the principal under the old name
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, oldBasic)).andExpect(status().isOk());
+        Long id = appUserRepository.findByUsername("before-rename").orElseThrow().getId();
+
+        mockMvc.perform(post("/users").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("id", id, "username", "after-rename",
+                                "password", "secret", "role", "USER"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + old)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + token("after-rename", "secret")))
+                .andExpect(status().isOk());
+        // ✅ The cached principal of the old name is gone too
+        mockMvc.perform(get("/items").header(HttpHeaders.AUTHORIZATION, oldBasic)).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions createUser(Long id, String username, String role) throws Exception {
+        Map<String, Object> body = new HashMap<>(Map.of("username", username, "password", "secret", "role", role));
+        if (id != null) {
+            body.put("id", id);
+        }
+        return mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body)));
+    }
+
+    private String token(String username, String password) throws Exception {
+        String json = mockMvc.perform(post("/auth/token").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", username, "password", password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(json).get("accessToken").asText();
+        assertEquals(2, token.split("\\.").length);
+        return token;
+    }
+}
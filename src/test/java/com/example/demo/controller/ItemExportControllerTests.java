@@ -0,0 +1,39 @@
+package com.example.demo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.example.demo.TestFixtures.ADMIN_BASIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The export gets its own async timeout (item.export.timeout) without lifting the global one.
+ */
+@SpringBootTest(properties = {"item.export.timeout=PT7M", "spring.mvc.async.request-timeout=5s"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ItemExportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exportRunsWithItsOwnAsyncTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/items/export").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(7 * 60 * 1000L, result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+}
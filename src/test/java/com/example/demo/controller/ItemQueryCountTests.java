@@ -0,0 +1,82 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.metrics.QueryCounter;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static com.example.demo.TestFixtures.ADMIN_BASIC;
+import static com.example.demo.TestFixtures.newItem;
+import static com.example.demo.metrics.QueryCountAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Locks in the number of statements the hot item endpoints issue, so an accidental extra query
+ * (lazy load, N+1, redundant existence check) fails the build instead of showing up in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ItemQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        item = itemRepository.save(newItem("Counted"));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        // ✅ Warm the principal cache so authentication does not count against the endpoint
+        mockMvc.perform(authed(get("/items/" + item.getId()))).andExpect(status().isOk());
+        cacheManager.getCache(CacheConfig.ITEMS).clear();
+    }
+
+    @Test
+    void getItemIssuesOneQueryOnMissAndNoneOnHit() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(authed(get("/items/" + item.getId()))).andExpect(status().isOk()));
+        assertStatements(0, () -> mockMvc.perform(authed(get("/items/" + item.getId()))).andExpect(status().isOk()));
+    }
+
+    @Test
+    void patchItemIssuesOneUpdateAndOneRead() throws Exception {
+        // ✅ Bulk UPDATE of the changed fields, then one SELECT to return the new state
+        QueryCounter.Snapshot issued = assertStatements(2, () -> mockMvc.perform(authed(patch("/items/" + item.getId()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemQuantity\": 7}"))
+                .andExpect(status().isOk()));
+        assertEquals(2, issued.rows());
+    }
+
+    @Test
+    void listItemsIssuesVersionAndPageQueries() throws Exception {
+        // ✅ Collection version for the ETag check, then the keyset page itself
+        assertStatements(2, () -> mockMvc.perform(authed(get("/items").param("limit", "10"))).andExpect(status().isOk()));
+    }
+
+    private static MockHttpServletRequestBuilder authed(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC);
+    }
+}
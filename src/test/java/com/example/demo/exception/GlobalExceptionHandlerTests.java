@@ -0,0 +1,119 @@
+package com.example.demo.exception;
+
+import com.example.demo.logging.LogService;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.demo.TestFixtures.ADMIN_BASIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the JSON shape of error responses, and checks that unexpected errors are logged with their
+ * stack trace and throttled per exception rather than per handler.
+ */
+@SpringBootTest(properties = "logging.error-limit.burst=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class GlobalExceptionHandlerTests {
+
+    private static final List<String> FIELDS = List.of("status", "code", "error", "message", "details", "suggestion", "timestamp");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ListAppender<ILoggingEvent> appLog = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appLog.start();
+        ((Logger) LoggerFactory.getLogger(LogService.class)).addAppender(appLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(LogService.class)).detachAppender(appLog);
+    }
+
+    @Test
+    void notFoundHasTheDocumentedShape() throws Exception {
+        JsonNode body = errorBody(patch("/items/987654321").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"itemName\":\"Ghost\"}"), 404);
+
+        assertEquals("error", body.get("status").asText());
+        assertEquals(404, body.get("code").asInt());
+        assertEquals("Not Found", body.get("error").asText());
+        assertEquals(GlobalExceptionHandler.NOT_FOUND.message(), body.get("message").asText());
+        assertEquals("Item not found: 987654321", body.get("details").asText());
+        assertEquals(GlobalExceptionHandler.NOT_FOUND.suggestion(), body.get("suggestion").asText());
+        assertTrue(body.get("timestamp").asText().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}"),
+                body.get("timestamp").asText());
+    }
+
+    @Test
+    void methodNotAllowedOverridesDetailsAndSuggestion() throws Exception {
+        JsonNode body = errorBody(post("/items/1").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC), 405);
+
+        assertEquals("Method 'POST' is not allowed here.", body.get("details").asText());
+        assertTrue(body.get("suggestion").asText().startsWith("Try changing the method to one of: "));
+    }
+
+    @Test
+    void unexpectedErrorsAreThrottledPerExceptionAndLoggedWithStackTrace() throws Exception {
+        errorBody(get("/items/abc").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC), 500);
+        errorBody(get("/items/abc").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC), 500);
+        errorBody(get("/items/xyz").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC), 500);
+
+        List<ILoggingEvent> errors = new ArrayList<>();
+        for (ILoggingEvent event : appLog.list) {
+            if (event.getLevel() == Level.ERROR) {
+                errors.add(event);
+            }
+        }
+        // ✅ The repeated abc failure is suppressed (burst=1), the unrelated xyz failure is not
+        assertEquals(2, errors.size(), () -> "error lines: " + errors);
+        assertTrue(errors.get(0).getFormattedMessage().contains("\"abc\""));
+        assertTrue(errors.get(1).getFormattedMessage().contains("\"xyz\""));
+        assertNotNull(errors.get(0).getThrowableProxy());
+    }
+
+    private JsonNode errorBody(RequestBuilder request, int expectedStatus) throws Exception {
+        String json = mockMvc.perform(request)
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode body = objectMapper.readTree(json);
+        List<String> fields = new ArrayList<>();
+        body.fieldNames().forEachRemaining(fields::add);
+        assertEquals(FIELDS, fields);
+        return body;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.logging;
+
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static com.example.demo.TestFixtures.ADMIN_BASIC;
+import static com.example.demo.TestFixtures.newItem;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Correlation ID handling, the Server-Timing phases and the access log line, for a plain JSON
+ * response and for a streaming one that finishes on another thread.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class RequestTimingFilterTests {
+
+    private static final String PHASES = "auth;dur=\\d+\\.\\d, app;dur=\\d+\\.\\d, db;dur=\\d+\\.\\d;desc=\"\\d+ queries\", "
+            + "ser;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final ListAppender<ILoggingEvent> accessLog = new ListAppender<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            // ✅ Copy the MDC now; the filter removes status/durationMs right after logging
+            event.prepareForDeferredProcessing();
+            super.append(event);
+        }
+    };
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        accessLog.start();
+        ((Logger) LoggerFactory.getLogger(RequestTimingFilter.class)).addAppender(accessLog);
+
+        item = itemRepository.save(newItem("Timed"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(RequestTimingFilter.class)).detachAppender(accessLog);
+    }
+
+    @Test
+    void wellFormedRequestIdIsEchoed() throws Exception {
+        mockMvc.perform(get("/items/" + item.getId()).header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC)
+                        .header(RequestTimingFilter.REQUEST_ID_HEADER, "trace-42.a_b"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestTimingFilter.REQUEST_ID_HEADER, "trace-42.a_b"))
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING_HEADER, matchesPattern(PHASES)));
+
+        ILoggingEvent line = accessLine("/items/" + item.getId());
+        assertEquals("trace-42.a_b", line.getMDCPropertyMap().get("requestId"));
+        assertEquals("200", line.getMDCPropertyMap().get("status"));
+    }
+
+    @Test
+    void malformedRequestIdIsReplaced() throws Exception {
+        mockMvc.perform(get("/items/" + item.getId()).header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC)
+                        .header(RequestTimingFilter.REQUEST_ID_HEADER, "bad id\r\nX-Injected: 1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestTimingFilter.REQUEST_ID_HEADER, matchesPattern("[0-9a-f]{16}")));
+    }
+
+    @Test
+    void streamingResponseGetsServerTimingAndAccessLogOnCompletion() throws Exception {
+        MvcResult result = mockMvc.perform(get("/items/export").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC)
+                        .header(RequestTimingFilter.REQUEST_ID_HEADER, "export-1"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string(RequestTimingFilter.REQUEST_ID_HEADER, "export-1"))
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING_HEADER, matchesPattern(PHASES)))
+                .andReturn();
+        // ✅ Nothing is logged until the stream completes
+        assertTrue(accessLog.list.isEmpty());
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        ILoggingEvent line = accessLine("/items/export");
+        assertEquals("export-1", line.getMDCPropertyMap().get("requestId"));
+        assertEquals("200", line.getMDCPropertyMap().get("status"));
+    }
+
+    private ILoggingEvent accessLine(String uri) {
+        List<ILoggingEvent> lines = accessLog.list.stream()
+                .filter(event -> event.getFormattedMessage().startsWith("GET " + uri + " → "))
+                .toList();
+        assertEquals(1, lines.size(), () -> "access log lines: " + accessLog.list);
+        assertNotNull(lines.get(0).getMDCPropertyMap().get("durationMs"));
+        return lines.get(0);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Locks in how many JDBC statements a piece of work issues on the current thread, e.g.
+ * {@code assertStatements(1, () -> mockMvc.perform(get("/items/1")))}.
+ * MockMvc runs the whole request (filters included) on the calling thread, so this covers endpoints too.
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * Run {@code work} and return the statements, rows and JDBC time it issued.
+     */
+    public static QueryCounter.Snapshot count(Work work) throws Exception {
+        if (!QueryCounter.isInstalled()) {
+            throw new IllegalStateException("Query counting is off (query.metrics.enabled=false)");
+        }
+        QueryCounter.Snapshot start = QueryCounter.current();
+        work.run();
+        return QueryCounter.current().since(start);
+    }
+
+    /**
+     * Fail unless {@code work} issues exactly {@code expected} statements (a JDBC batch counts once).
+     */
+    public static QueryCounter.Snapshot assertStatements(long expected, Work work) throws Exception {
+        QueryCounter.Snapshot issued = count(work);
+        assertEquals(expected, issued.statements(), "JDBC statements issued");
+        return issued;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.repository;
+
+import com.example.demo.TestFixtures;
+import com.example.demo.dto.ItemSearchCriteria;
+import com.example.demo.model.Item;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that item searches return the right rows and that the generated SQL keeps
+ * its predicates sargable, so the database can answer them from the item indexes.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.demo.repository.ItemSpecificationsTests$CapturingInspector"
+})
+class ItemSpecificationsTests {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        itemRepository.saveAll(List.of(
+                item("Milk", "Amul", "Anand", true, 50, LocalDate.of(2030, 1, 10)),
+                item("Butter", "Amul", "Anand", false, 120, LocalDate.of(2030, 3, 1)),
+                item("Curd", "Amul", "Pune", true, 40, LocalDate.of(2031, 1, 1)),
+                item("Ghee", "Nandini", "Mysore", true, 500, LocalDate.of(2030, 2, 1))));
+        itemRepository.flush();
+        CapturingInspector.SQL.clear();
+    }
+
+    @Test
+    void combinesFiltersWithAnd() {
+        ItemSearchCriteria criteria = new ItemSearchCriteria();
+        criteria.setCompany("Amul");
+        criteria.setShip(true);
+        criteria.setMaxCost(100);
+        criteria.setExpiresFrom(LocalDate.of(2030, 1, 1));
+        criteria.setExpiresTo(LocalDate.of(2030, 12, 31));
+
+        List<Item> items = itemRepository.findAll(ItemSpecifications.matching(criteria));
+
+        assertThat(items).extracting(Item::getItemName).containsExactly("Milk");
+    }
+
+    @Test
+    void emptyCriteriaMatchesEverything() {
+        assertThat(itemRepository.findAll(ItemSpecifications.matching(new ItemSearchCriteria()))).hasSize(4);
+        assertThat(lastSelect()).doesNotContain(" where ");
+    }
+
+    @Test
+    void predicatesCompareBareColumnsWithBoundValues() {
+        ItemSearchCriteria criteria = new ItemSearchCriteria();
+        criteria.setCompany("Amul");
+        criteria.setOrigin("Anand");
+        criteria.setMinCost(10);
+        criteria.setMaxCost(200);
+        criteria.setExpiresFrom(LocalDate.of(2030, 1, 1));
+
+        itemRepository.findAll(ItemSpecifications.matching(criteria));
+
+        String sql = lastSelect();
+        assertThat(sql).containsPattern("\\.item_company=\\?")
+                .containsPattern("\\.item_origin_location=\\?")
+                .containsPattern("\\.item_cost between \\? and \\?")
+                .containsPattern("\\.item_expiry_date>=\\?");
+        // ✅ No functions wrapped around columns and no LIKE scans: those defeat the indexes
+        assertThat(sql.toLowerCase()).doesNotContain("upper(", "lower(", " like ", "cast(");
+    }
+
+    @Test
+    void companyAndExpiryWindowUsesCompositeIndex() {
+        ItemSearchCriteria criteria = new ItemSearchCriteria();
+        criteria.setCompany("Amul");
+        criteria.setExpiresFrom(LocalDate.of(2030, 1, 1));
+        criteria.setExpiresTo(LocalDate.of(2030, 6, 30));
+
+        itemRepository.findAll(ItemSpecifications.matching(criteria));
+
+        String plan = explain(lastSelect(), "Amul", LocalDate.of(2030, 1, 1), LocalDate.of(2030, 6, 30));
+        assertThat(plan).contains("IDX_ITEM_COMPANY_EXPIRY");
+    }
+
+    @Test
+    void originUsesSecondaryIndex() {
+        ItemSearchCriteria criteria = new ItemSearchCriteria();
+        criteria.setOrigin("Pune");
+
+        assertThat(itemRepository.findAll(ItemSpecifications.matching(criteria)))
+                .extracting(Item::getItemName).containsExactly("Curd");
+
+        assertThat(explain(lastSelect(), "Pune")).contains("IDX_ITEM_ORIGIN");
+    }
+
+    private String lastSelect() {
+        return CapturingInspector.SQL.stream()
+                .filter(sql -> sql.startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    private static Item item(String name, String company, String origin, boolean ship, int cost, LocalDate expiry) {
+        Item item = TestFixtures.newItem(name);
+        item.setItemCompany(company);
+        item.setItemOriginLocation(origin);
+        item.setItemShip(ship);
+        item.setItemCost(cost);
+        item.setItemExpiryDate(expiry);
+        return item;
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     */
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
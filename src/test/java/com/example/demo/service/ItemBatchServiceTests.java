@@ -0,0 +1,63 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.dto.ItemDTO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Every bad row of a batch, null rows included, is rejected by index under the key that failed.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class ItemBatchServiceTests {
+
+    @Autowired
+    private ItemBatchService itemBatchService;
+
+    @Test
+    void badRowsAreRejectedByIndex() {
+        ItemDTO badCost = newDto("Bad cost");
+        badCost.setItemCost("abc");
+        ItemDTO noName = newDto(null);
+
+        List<BatchItemResult> results = itemBatchService.saveAll(Arrays.asList(newDto("Good"), null, badCost, noName));
+
+        assertEquals(4, results.size());
+        assertNotNull(results.get(0).getId());
+        assertEquals(Map.of("row", "Row is empty"), results.get(1).getErrors());
+        assertEquals(Map.of("row", "Item cost must be a valid number greater than zero."), results.get(2).getErrors());
+        // Bean Validation failures still name their field
+        assertEquals(Set.of("itemName"), results.get(3).getErrors().keySet());
+        assertEquals(List.of(BatchItemResult.CREATED, BatchItemResult.ERROR, BatchItemResult.ERROR, BatchItemResult.ERROR),
+                results.stream().map(BatchItemResult::getStatus).toList());
+    }
+
+    private static ItemDTO newDto(String name) {
+        ItemDTO dto = new ItemDTO();
+        dto.setItemName(name);
+        dto.setItemCost("10");
+        dto.setItemQuantity(5);
+        dto.setItemPack("N");
+        dto.setItemDimensions(1);
+        dto.setItemOriginLocation("IN");
+        dto.setItemShip(true);
+        dto.setItemCompany("Acme");
+        dto.setItemManufacturingDateTime(LocalDateTime.now());
+        dto.setItemExpiryDate(LocalDate.now().plusYears(1));
+        return dto;
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.demo.service;
+
+import com.example.demo.TestFixtures;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static com.example.demo.TestFixtures.ADMIN_BASIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * The change feed over a real connection (it needs servlet non-blocking I/O): the versions POST and
+ * PUT publish, resuming with ?since= and Last-Event-ID, resets for cursors outside the ring, nothing
+ * for rolled-back writes, dropping a stalled reader and the subscriber cap.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "item.changes.buffer-size=50",
+        "item.changes.max-subscribers=3",
+        "item.changes.heartbeat=200ms",
+        "item.changes.stall-timeout=1s"
+})
+@ActiveProfiles("h2")
+class ItemChangeFeedTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ItemChangeFeed itemChangeFeed;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    void waitForPreviousSubscribersToLeave() {
+        // ✅ Closed clients are noticed on the next heartbeat write
+        await(() -> subscribers() == 0, "subscribers of earlier tests to be dropped");
+    }
+
+    @Test
+    void resumesAfterSinceOrLastEventId() throws Exception {
+        long start = latestSeq();
+        itemChangeFeed.created(item(1L));
+        itemChangeFeed.updated(item(1L));
+        itemChangeFeed.deleted(1L);
+
+        try (EventStream stream = open("?since=" + start, null)) {
+            assertEquals(List.of(start + 1, start + 2, start + 3), ids(stream.next(), stream.next(), stream.next()));
+        }
+        try (EventStream stream = open("", Long.toString(start + 1))) {
+            Frame updated = stream.next();
+            assertEquals(start + 2, updated.id());
+            assertEquals(ItemChangeFeed.UPDATED, updated.event());
+            assertEquals(1, objectMapper.readTree(updated.data()).get("id").asInt());
+            Frame deleted = stream.next();
+            assertEquals(ItemChangeFeed.DELETED, deleted.event());
+            assertTrue(objectMapper.readTree(deleted.data()).path("item").isMissingNode());
+        }
+        // ⚠️ The query parameter wins over the header
+        try (EventStream stream = open("?since=" + (start + 2), Long.toString(start))) {
+            assertEquals(start + 3, stream.next().id());
+        }
+    }
+
+    @Test
+    void eventsCarryTheCommittedVersion() throws Exception {
+        try (EventStream stream = open("", null)) {
+            HttpResponse<String> created = send("POST", "/items", item(null));
+            assertEquals(201, created.statusCode());
+            JsonNode body = objectMapper.readTree(created.body());
+            long id = body.get("id").asLong();
+            JsonNode createdEvent = objectMapper.readTree(stream.next().data());
+            assertEquals(body.get("version").asLong(), createdEvent.get("version").asLong());
+            assertFalse(createdEvent.path("item").path("lastModified").isNull());
+
+            Item replacement = item(null);
+            replacement.setItemName("Replaced");
+            HttpResponse<String> updated = send("PUT", "/items/" + id, replacement);
+            assertEquals(201, updated.statusCode());
+            Frame frame = stream.next();
+            assertEquals(ItemChangeFeed.UPDATED, frame.event());
+            JsonNode updatedEvent = objectMapper.readTree(frame.data());
+            // ⚠️ Before the flush in updateItem this was the version the PUT replaced
+            long stored = itemRepository.findById(id).orElseThrow().getVersion();
+            assertEquals(stored, updatedEvent.get("version").asLong());
+            assertEquals("\"" + stored + "\"", updated.headers().firstValue(HttpHeaders.ETAG).orElse(null));
+            assertNotEquals(createdEvent.path("item").path("lastModified").asText(),
+                    updatedEvent.path("item").path("lastModified").asText());
+        }
+    }
+
+    @Test
+    void cursorOutsideTheRingGetsAReset() throws Exception {
+        long start = latestSeq();
+        for (int i = 0; i < 60; i++) {
+            itemChangeFeed.created(item((long) i));
+        }
+        long latest = latestSeq();
+
+        // Too old: the first events after start were overwritten
+        try (EventStream stream = open("?since=" + start, null)) {
+            Frame reset = stream.next();
+            assertEquals("reset", reset.event());
+            assertEquals(latest, reset.id());
+            assertEquals(latest, objectMapper.readTree(reset.data()).get("latestSeq").asLong());
+            // ✅ …and then follows the stream from the reset point
+            itemChangeFeed.deleted(99L);
+            assertEquals(latest + 1, stream.next().id());
+        }
+        // From the future, e.g. an ID issued by another run
+        try (EventStream stream = open("?since=" + (latest + 1000), null)) {
+            assertEquals("reset", stream.next().event());
+        }
+    }
+
+    @Test
+    void rolledBackWritesPublishNothing() throws Exception {
+        Item saved = itemRepository.save(item(null));
+        try (EventStream stream = open("", null)) {
+            // Whole-entity rule after the UPDATE: itemPack=Y needs itemContent
+            assertThrows(IllegalArgumentException.class,
+                    () -> itemService.patchItem(saved.getId(), Map.of("itemPack", "Y"), null));
+            // Valid patch, but the surrounding transaction rolls back after the event was encoded
+            transactionTemplate.executeWithoutResult(status -> {
+                itemService.patchItem(saved.getId(), Map.of("itemQuantity", 42), null);
+                status.setRollbackOnly();
+            });
+            itemChangeFeed.deleted(-1L);
+
+            Frame first = stream.next();
+            assertEquals(ItemChangeFeed.DELETED, first.event());
+            assertEquals(-1, objectMapper.readTree(first.data()).get("id").asInt());
+        }
+    }
+
+    @Test
+    void stalledSubscriberIsDropped() throws Exception {
+        long stalledBefore = ((Number) itemChangeFeed.status().get("stalledDisconnects")).longValue();
+        Item big = item(7L);
+        big.setItemName("x".repeat(64 * 1024));
+
+        // 🐌 Subscribes, then never reads: the socket buffers fill and the server's writes block
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /items/changes HTTP/1.1\r\nHost: localhost\r\nAuthorization: " + ADMIN_BASIC
+                    + "\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            await(() -> subscribers() == 1, "the raw subscriber to register");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (subscribers() == 1 && System.nanoTime() < deadline) {
+                for (int i = 0; i < 20; i++) {
+                    itemChangeFeed.updated(big);
+                }
+                Thread.sleep(100);
+            }
+            assertEquals(0, subscribers());
+            assertEquals(stalledBefore + 1, ((Number) itemChangeFeed.status().get("stalledDisconnects")).longValue());
+        }
+    }
+
+    @Test
+    void subscribersAboveTheCapGet503() throws Exception {
+        List<EventStream> streams = new ArrayList<>();
+        try {
+            for (int i = 1; i <= 3; i++) {
+                streams.add(open("", null));
+                int expected = i;
+                // ⚠️ Headers are flushed before the subscriber is registered
+                await(() -> subscribers() == expected, "subscriber " + expected + " to register");
+            }
+            HttpResponse<String> rejected = client.send(request("", null).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(503, rejected.statusCode());
+            assertEquals(503, objectMapper.readTree(rejected.body()).get("code").asInt());
+        } finally {
+            for (EventStream stream : streams) {
+                stream.close();
+            }
+        }
+    }
+
+    private EventStream open(String query, String lastEventId) throws Exception {
+        HttpResponse<InputStream> response = client.send(request(query, lastEventId).build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse("").startsWith("text/event-stream"));
+        EventStream stream = new EventStream(response.body());
+        await(() -> subscribers() >= 1, "the subscriber to register");
+        return stream;
+    }
+
+    private HttpResponse<String> send(String method, String path, Item item) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(item)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String query, String lastEventId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/changes" + query))
+                .header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC)
+                .header(HttpHeaders.ACCEPT, "text/event-stream")
+                .timeout(Duration.ofSeconds(10));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return request;
+    }
+
+    private long latestSeq() {
+        return ((Number) itemChangeFeed.status().get("latestSeq")).longValue();
+    }
+
+    private int subscribers() {
+        return ((Number) itemChangeFeed.status().get("subscribers")).intValue();
+    }
+
+    private static List<Long> ids(Frame... frames) {
+        List<Long> ids = new ArrayList<>();
+        for (Frame frame : frames) {
+            ids.add(frame.id());
+        }
+        return ids;
+    }
+
+    private static void await(BooleanSupplier condition, String what) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + what);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting for " + what);
+            }
+        }
+    }
+
+    private static Item item(Long id) {
+        Item item = TestFixtures.newItem("Fed");
+        item.setId(id);
+        return item;
+    }
+
+    private record Frame(long id, String event, String data) {
+    }
+
+    /**
+     * Reads SSE frames on a background thread, skipping keepalive comments.
+     */
+    private static final class EventStream implements AutoCloseable {
+
+        private final InputStream body;
+        private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+        EventStream(InputStream body) {
+            this.body = body;
+            Thread reader = new Thread(() -> {
+                try (BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        lines.add(line);
+                    }
+                } catch (IOException e) {
+                    // Closed by the test
+                }
+            }, "change-feed-test-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        Frame next() throws InterruptedException {
+            Long id = null;
+            String event = null;
+            String data = null;
+            while (true) {
+                String line = lines.poll(10, TimeUnit.SECONDS);
+                assertNotNull(line, "no event within 10 s");
+                if (line.isEmpty()) {
+                    if (event != null) {
+                        return new Frame(id, event, data);
+                    }
+                } else if (line.startsWith("id: ")) {
+                    id = Long.parseLong(line.substring(4));
+                } else if (line.startsWith("event: ")) {
+                    event = line.substring(7);
+                } else if (line.startsWith("data: ")) {
+                    data = line.substring(6);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
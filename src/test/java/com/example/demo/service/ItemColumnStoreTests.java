@@ -0,0 +1,58 @@
+package com.example.demo.service;
+
+import com.example.demo.TestFixtures;
+import com.example.demo.dto.ItemAnalyticsFilter;
+import com.example.demo.dto.ItemAnalyticsResult;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * After-commit patches of the column store applied out of order keep the newest row.
+ */
+@SpringBootTest(properties = "item.analytics.enabled=true")
+@ActiveProfiles("h2")
+class ItemColumnStoreTests {
+
+    @Autowired
+    private ItemColumnStore itemColumnStore;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void olderPatchArrivingLateIsIgnored() {
+        Item saved = itemRepository.save(newItem());
+        ItemAnalyticsFilter filter = new ItemAnalyticsFilter();
+        filter.setCompany("Reordered");
+        assertEquals(5, itemColumnStore.query(filter, 10).totalQuantity());
+
+        // Outside a transaction upsert applies immediately, so this replays two commits in reverse order
+        itemColumnStore.upsert(copy(saved, saved.getVersion() + 2, 9));
+        itemColumnStore.upsert(copy(saved, saved.getVersion() + 1, 3));
+
+        ItemAnalyticsResult result = itemColumnStore.query(filter, 10);
+        assertEquals(1, result.count());
+        assertEquals(9, result.totalQuantity());
+    }
+
+    private static Item copy(Item source, long version, int quantity) {
+        Item item = newItem();
+        item.setId(source.getId());
+        item.setVersion(version);
+        item.setItemQuantity(quantity);
+        return item;
+    }
+
+    private static Item newItem() {
+        Item item = TestFixtures.newItem("Columnar");
+        item.setItemCompany("Reordered");
+        return item;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ImportJob;
+import com.example.demo.exception.ResourceNotFoundException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A bad NDJSON row only rejects itself, and finished jobs are purged together with their error report
+ * (retention is zero here, so every finished job is due).
+ */
+@SpringBootTest(properties = "item.import.retention=PT0S")
+@ActiveProfiles("h2")
+class ItemImportServiceTests {
+
+    private static final String VALID = "{\"itemName\":\"Imported\",\"itemCost\":\"5\",\"itemQuantity\":3,\"itemPack\":\"N\","
+            + "\"itemDimensions\":1,\"itemOriginLocation\":\"IN\",\"itemShip\":true,\"itemCompany\":\"Acme\","
+            + "\"itemManufacturingDateTime\":\"2025-01-01T00:00:00\",\"itemExpiryDate\":\"2030-01-01\"}";
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Test
+    void nullRowIsRejectedWithoutFailingTheJob() throws Exception {
+        ImportJob job = importAndWait(String.join("\n", VALID, "null", "{not json", VALID));
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getRowsImported());
+        assertEquals(2, job.getRowsRejected());
+        List<String> report = Files.readAllLines(job.getErrorReport());
+        assertEquals(2, report.size());
+        assertTrue(report.get(0).contains("\"line\":2"));
+    }
+
+    @Test
+    void purgeForgetsFinishedJobsAndDeletesTheirReports() throws Exception {
+        ImportJob job = importAndWait("null");
+        assertTrue(Files.exists(job.getErrorReport()));
+
+        itemImportService.purgeFinishedJobs();
+
+        assertFalse(Files.exists(job.getErrorReport()));
+        assertThrows(ResourceNotFoundException.class, () -> itemImportService.getJob(job.getId()));
+    }
+
+    private ImportJob importAndWait(String ndjson) throws Exception {
+        ImportJob job = itemImportService.submit(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+                ItemImportService.NDJSON);
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.QuantityAdjustment;
+import com.example.demo.dto.QuantityAdjustmentResult;
+import com.example.demo.exception.InsufficientStockException;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.demo.TestFixtures.newItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers a single item from many threads to prove the conditional UPDATEs lose no increments or
+ * decrements and never oversell, plus the all-or-nothing contract of reserve.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class ItemInventoryServiceTests {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 100;
+
+    @Autowired
+    private ItemInventoryService itemInventoryService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void concurrentDecrementsSellExactlyTheStock() throws Exception {
+        int stock = 1000;
+        Item item = save(stock);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                try {
+                    itemInventoryService.decrement(item.getId(), 1);
+                    sold.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    refused.incrementAndGet();
+                }
+            }
+        });
+
+        Item after = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(stock, sold.get());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD - stock, refused.get());
+        assertEquals(0, after.getItemQuantity());
+        assertEquals(item.getVersion() + stock, after.getVersion());
+    }
+
+    @Test
+    void concurrentIncrementsAndDecrementsLoseNoUpdates() throws Exception {
+        int stock = 10_000;
+        Item item = save(stock);
+
+        // ✅ Half the threads add 2 per call, half remove 1, single and bulk forms mixed
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                boolean bulk = i % 2 == 0;
+                if (thread % 2 == 0) {
+                    if (bulk) {
+                        itemInventoryService.increment(List.of(new QuantityAdjustment(item.getId(), 2)));
+                    } else {
+                        itemInventoryService.increment(item.getId(), 2);
+                    }
+                } else if (bulk) {
+                    itemInventoryService.decrement(List.of(new QuantityAdjustment(item.getId(), 1)));
+                } else {
+                    itemInventoryService.decrement(item.getId(), 1);
+                }
+            }
+        });
+
+        int operations = THREADS / 2 * OPERATIONS_PER_THREAD;
+        Item after = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(stock + operations * 2 - operations, after.getItemQuantity());
+        assertEquals(item.getVersion() + THREADS * OPERATIONS_PER_THREAD, after.getVersion());
+    }
+
+    @Test
+    void reserveChangesNothingWhenOneRowIsShort() {
+        Item plenty = save(10);
+        Item short1 = save(1);
+
+        List<QuantityAdjustmentResult> results = itemInventoryService.reserve(List.of(
+                new QuantityAdjustment(plenty.getId(), 5), new QuantityAdjustment(short1.getId(), 2)));
+
+        assertEquals(QuantityAdjustmentResult.ABORTED, results.get(0).getStatus());
+        assertEquals(QuantityAdjustmentResult.INSUFFICIENT_STOCK, results.get(1).getStatus());
+        assertEquals(1, results.get(1).getQuantity());
+        assertEquals(10, itemRepository.findById(plenty.getId()).orElseThrow().getItemQuantity());
+        assertEquals(1, itemRepository.findById(short1.getId()).orElseThrow().getItemQuantity());
+
+        results = itemInventoryService.reserve(List.of(
+                new QuantityAdjustment(short1.getId(), 1), new QuantityAdjustment(plenty.getId(), 5)));
+        assertTrue(results.stream().allMatch(QuantityAdjustmentResult::isApplied));
+        assertEquals(0, results.get(0).getQuantity());
+        assertEquals(5, results.get(1).getQuantity());
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Item save(int quantity) {
+        Item item = newItem("Stocked");
+        item.setItemQuantity(quantity);
+        return itemRepository.save(item);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static com.example.demo.TestFixtures.newItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The items cache only ever holds committed rows: writes evict after the commit instead of
+ * putting their result.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class ItemServiceCacheTests {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void rolledBackPatchIsNeverCached() {
+        Long id = itemRepository.save(newItem("Cached")).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.patchItem(id, Map.of("itemQuantity", 42), null);
+            status.setRollbackOnly();
+        });
+
+        assertNull(cacheManager.getCache(CacheConfig.ITEMS).get(id));
+        assertEquals(5, itemService.getItemById(id).getItemQuantity());
+    }
+
+    @Test
+    void committedWritesReplaceTheCachedRow() {
+        Long id = itemRepository.save(newItem("Cached")).getId();
+        long cachedVersion = itemService.getItemById(id).getVersion();
+
+        Item replacement = newItem("Cached");
+        replacement.setItemQuantity(7);
+        itemService.updateItem(id, replacement, cachedVersion);
+        assertNull(cacheManager.getCache(CacheConfig.ITEMS).get(id));
+        assertEquals(7, itemService.getItemById(id).getItemQuantity());
+
+        Item patched = itemService.patchItem(id, Map.of("itemQuantity", 9), cachedVersion + 1);
+        Item cached = itemService.getItemById(id);
+        assertEquals(9, cached.getItemQuantity());
+        assertEquals(patched.getVersion(), cached.getVersion());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.service;
+
+import com.example.demo.TestFixtures;
+import com.example.demo.dto.ItemGroupStats;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A write that has committed but not yet applied its delta must be counted once, whether the
+ * aggregate's load runs before or after that delta, and a load must not stall writers on a
+ * saturated pool (here a single connection).
+ */
+@SpringBootTest(properties = {
+        "item.stats.in-memory.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+@ActiveProfiles("h2")
+class ItemStatsAggregateTests {
+
+    private static final String COMPANY = "RaceCo";
+
+    @Autowired
+    private ItemStatsAggregate itemStatsAggregate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void loadDuringPendingDeltaCountsTheWriteOnce() throws Exception {
+        itemStatsAggregate.invalidate();
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            // ⚠️ Registered first, so it holds the thread between the commit and the aggregate's delta
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            Item saved = itemRepository.save(newItem());
+            itemStatsAggregate.record(null, itemStatsAggregate.snapshot(saved));
+        }));
+        assertTrue(committed.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<List<ItemGroupStats>> reader = CompletableFuture.supplyAsync(
+                () -> itemStatsAggregate.stats(true, LocalDate.now(), LocalDate.now()));
+        // ✅ The load must wait for the committed write's delta instead of reading past it
+        Thread.sleep(200);
+        assertFalse(reader.isDone());
+        release.countDown();
+
+        writer.get(10, TimeUnit.SECONDS);
+        assertEquals(1, countFor(reader.get(10, TimeUnit.SECONDS)));
+        assertEquals(1, countFor(itemStatsAggregate.stats(true, LocalDate.now(), LocalDate.now())));
+    }
+
+    @Test
+    void loadOnASaturatedPoolDoesNotBlockTheWriterHoldingTheConnection() throws Exception {
+        itemStatsAggregate.invalidate();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The only pooled connection stays with this writer until it commits
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            Item saved = itemRepository.save(newItem());
+            itemStatsAggregate.record(null, itemStatsAggregate.snapshot(saved));
+            writing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<List<ItemGroupStats>> reader = CompletableFuture.supplyAsync(
+                () -> itemStatsAggregate.stats(true, LocalDate.now(), LocalDate.now()));
+        Thread.sleep(200);
+        // ⚠️ A load holding the gate while it waits for a connection would keep this commit out until the pool times out
+        release.countDown();
+
+        writer.get(10, TimeUnit.SECONDS);
+        long stored = itemRepository.findAll().stream().filter(item -> COMPANY.equals(item.getItemCompany())).count();
+        assertEquals(stored, countFor(reader.get(10, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void rolledBackWriteIsNotCounted() {
+        itemStatsAggregate.stats(true, LocalDate.now(), LocalDate.now());
+        long before = countFor(itemStatsAggregate.stats(true, LocalDate.now(), LocalDate.now()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Item saved = itemRepository.save(newItem());
+            itemStatsAggregate.record(null, itemStatsAggregate.snapshot(saved));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before, countFor(itemStatsAggregate.stats(true, LocalDate.now(), LocalDate.now())));
+    }
+
+    private static long countFor(List<ItemGroupStats> groups) {
+        return groups.stream().filter(g -> COMPANY.equals(g.key())).mapToLong(ItemGroupStats::itemCount).sum();
+    }
+
+    private static Item newItem() {
+        Item item = TestFixtures.newItem("Raced");
+        item.setItemCompany(COMPANY);
+        return item;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.model.Item;
+import com.example.demo.repository.ItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.demo.TestFixtures.newItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Group commit hands every caller its own row back: concurrent creates get distinct IDs, a bad row
+ * fails only its own caller, and a failure outside the write does not stop the flusher.
+ */
+@SpringBootTest(properties = {
+        "item.create.coalesce.enabled=true",
+        "item.create.coalesce.max-wait=20ms",
+        "item.create.coalesce.timeout=5s"
+})
+@ActiveProfiles("h2")
+class ItemWriteCoalescerTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ItemWriteCoalescer itemWriteCoalescer;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @MockitoSpyBean
+    private CacheManager cacheManager;
+
+    @Test
+    void concurrentCreatesGetTheirOwnIdsAndABadRowFailsAlone() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Item>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                String name = "Coalesced-" + t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return itemWriteCoalescer.create(newItem(name));
+                }));
+            }
+            // ⚠️ No name violates the NOT NULL column, so this row's chunk falls back to row-by-row
+            Future<Item> bad = executor.submit(() -> {
+                start.await();
+                return itemWriteCoalescer.create(newItem(null));
+            });
+            start.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            for (int t = 0; t < THREADS; t++) {
+                Item created = results.get(t).get(10, TimeUnit.SECONDS);
+                assertNotNull(created.getId());
+                ids.add(created.getId());
+                assertEquals("Coalesced-" + t, itemRepository.findById(created.getId()).orElseThrow().getItemName());
+            }
+            assertEquals(THREADS, ids.size());
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void flusherSurvivesAFailureAfterTheWrite() {
+        doThrow(new IllegalStateException("cache down")).doCallRealMethod().when(cacheManager).getCache(CacheConfig.ITEMS);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> itemWriteCoalescer.create(newItem("Uncached")));
+        assertEquals("cache down", failure.getMessage());
+
+        // ✅ Without the catch in flushLoop this caller would wait out the timeout
+        assertNotNull(itemWriteCoalescer.create(newItem("After failure")).getId());
+    }
+}